@@ -2,6 +2,7 @@
 package com.example.demo.ai;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -23,12 +24,22 @@ public class OpenAiClient {
     @Value("${openai.model:gpt-4.1-mini}")
     private String model;
 
-    private static final String CHAT_URL = "https://api.openai.com/v1/chat/completions";
+    // 로컬 스텁 서버로 바꿔 끼울 수 있도록 base URL 을 설정값으로 둠
+    @Value("${openai.base-url:https://api.openai.com/v1}")
+    private String baseUrl;
 
     /**
      * 단일 프롬프트를 보내고, 첫 번째 choice의 content만 문자열로 반환.
      */
     public String chat(String prompt, double temperature) {
+        return chatWithUsage(prompt, temperature).content();
+    }
+
+    /**
+     * chat() 과 같지만, 토큰 사용량(usage)까지 함께 반환.
+     * - 대량 작업에서 비용 카운터를 집계할 때 사용
+     */
+    public ChatResult chatWithUsage(String prompt, double temperature) {
         ChatRequest.Message msg = new ChatRequest.Message("user", prompt);
         ChatRequest request = new ChatRequest(model, List.of(msg), temperature);
 
@@ -39,15 +50,24 @@ public class OpenAiClient {
         HttpEntity<ChatRequest> entity = new HttpEntity<>(request, headers);
 
         ResponseEntity<ChatResponse> res =
-                restTemplate.exchange(CHAT_URL, HttpMethod.POST, entity, ChatResponse.class);
+                restTemplate.exchange(baseUrl + "/chat/completions", HttpMethod.POST, entity, ChatResponse.class);
 
         ChatResponse body = res.getBody();
         if (body == null || body.getChoices() == null || body.getChoices().isEmpty()) {
             throw new IllegalStateException("OpenAI 응답이 비어 있습니다.");
         }
-        return body.getChoices().get(0).getMessage().getContent();
+        String content = body.getChoices().get(0).getMessage().getContent();
+        ChatResponse.Usage usage = body.getUsage();
+        return new ChatResult(
+                content,
+                usage != null ? usage.getPromptTokens() : 0,
+                usage != null ? usage.getCompletionTokens() : 0
+        );
     }
 
+    /** 응답 본문 + 토큰 사용량 */
+    public record ChatResult(String content, long promptTokens, long completionTokens) {}
+
     /* ====== 요청/응답 DTO ====== */
 
     @Data
@@ -73,6 +93,7 @@ public class OpenAiClient {
     @AllArgsConstructor
     public static class ChatResponse {
         private List<Choice> choices;
+        private Usage usage;
 
         @Data
         @NoArgsConstructor
@@ -88,5 +109,15 @@ public class OpenAiClient {
             private String role;
             private String content;
         }
+
+        @Data
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static class Usage {
+            @JsonProperty("prompt_tokens")
+            private long promptTokens;
+            @JsonProperty("completion_tokens")
+            private long completionTokens;
+        }
     }
 }
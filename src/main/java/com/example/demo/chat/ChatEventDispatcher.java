@@ -0,0 +1,214 @@
+package com.example.demo.chat;
+
+import com.example.demo.chat.ChatMessage.MessageKind;
+import com.example.demo.chat.LinkuConnection.LinkuStatus;
+import com.example.demo.chat.dto.ChatMessageDto;
+import com.example.demo.chat.dto.ChatMessageRes;
+import com.example.demo.chat.dto.ChatRoomListItem;
+import com.example.demo.chat.dto.ChatRoomUpdateRes;
+import com.example.demo.chat.dto.LinkuStateEventRes;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 📡 채팅/LinkU 알림 STOMP 전송 담당
+ * - 서비스는 이벤트만 발행하고, 실제 전송은 여기서 커밋된 뒤에만 처리
+ *   → 롤백된 메시지가 화면에 뜨지 않고, 브로커 전송이 DB 트랜잭션 시간을 늘리지 않음
+ * - 한 트랜잭션에서 나온 이벤트는 모아서 커밋 후 한 번에 처리 (발생 순서 유지), 트랜잭션 밖이면 바로 처리
+ * - 채팅 메시지(방 토픽)는 커밋한 스레드에서 바로 전송 → 버려지지 않고, 느린 DB 조회에 밀리지 않음
+ * - DB 조회가 필요한 부가 알림(받는 사람 목록 갱신, LinkU 상태)만 chatEventExecutor 로 넘김
+ *   → 큐가 가득 차면 부가 알림만 버림 (DB 에 있으므로 REST 조회로 맞출 수 있음)
+ * - 새 메시지는 방 토픽 외에 받는 사람 개인 주소(/user/queue/rooms)로도 목록 갱신 알림을 보냄
+ */
+@Component
+@Slf4j
+public class ChatEventDispatcher {
+
+    // 목록 갱신 알림에 담는 메시지 앞부분 길이
+    private static final int PREVIEW_LENGTH = 100;
+
+    private final SimpMessagingTemplate template;
+    private final SimpUserRegistry userRegistry;
+    private final ChatService chatService;
+    private final LinkuService linkuService;
+    private final ThreadPoolTaskExecutor executor;
+
+    public ChatEventDispatcher(SimpMessagingTemplate template,
+                               SimpUserRegistry userRegistry,
+                               ChatService chatService,
+                               LinkuService linkuService,
+                               @Qualifier("chatEventExecutor") ThreadPoolTaskExecutor executor) {
+        this.template = template;
+        this.userRegistry = userRegistry;
+        this.chatService = chatService;
+        this.linkuService = linkuService;
+        this.executor = executor;
+    }
+
+    @EventListener
+    public void onMessageSaved(ChatMessageSavedEvent event) {
+        collect(event);
+    }
+
+    @EventListener
+    public void onLinkuStateChanged(LinkuStateChangedEvent event) {
+        collect(event);
+    }
+
+    // ===== 트랜잭션별 모으기 =====
+
+    private void collect(Object event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(List.of(event));
+            return;
+        }
+        Batch batch = (Batch) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            batch = new Batch();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(batch);
+        }
+        batch.events.add(event);
+    }
+
+    private final class Batch implements TransactionSynchronization {
+        private final List<Object> events = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            submit(events);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            // 롤백이면 모은 이벤트는 그대로 버림
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChatEventDispatcher.this);
+        }
+    }
+
+    /**
+     * 커밋된 이벤트 처리 (커밋한 스레드)
+     * - 채팅 메시지는 바로 방 토픽으로 (브로커 전송은 메모리 작업이라 짧음)
+     * - DB 를 다시 읽어야 하는 부가 알림은 모아서 chatEventExecutor 로
+     */
+    private void submit(List<Object> events) {
+        List<Object> followUps = new ArrayList<>();
+        for (Object event : events) {
+            if (event instanceof ChatMessageSavedEvent e) {
+                try {
+                    sendMessage(e);
+                } catch (RuntimeException ex) {
+                    log.warn("chat message broadcast failed: {}", event, ex);
+                }
+            }
+            followUps.add(event);
+        }
+        try {
+            executor.execute(() -> deliverFollowUps(followUps));
+        } catch (TaskRejectedException e) {
+            log.warn("chat event queue full, room-list/LinkU notification(s) for {} event(s) dropped",
+                    followUps.size());
+        }
+    }
+
+    // ===== 부가 알림 (chatEventExecutor 스레드: DB 조회 포함) =====
+
+    private void deliverFollowUps(List<Object> events) {
+        // 같은 방 LinkU 상태는 한 묶음에서 한 번만 (전송 시점의 최신 값을 읽으므로)
+        Set<Long> pushedStates = new HashSet<>();
+        for (Object event : events) {
+            try {
+                if (event instanceof ChatMessageSavedEvent e) {
+                    sendRoomUpdate(e.message());
+                } else if (event instanceof LinkuStateChangedEvent e && pushedStates.add(e.roomId())) {
+                    sendLinkuState(e.roomId());
+                }
+            } catch (RuntimeException ex) {
+                log.warn("chat notification failed: {}", event, ex);
+            }
+        }
+    }
+
+    private void sendMessage(ChatMessageSavedEvent event) {
+        ChatMessage m = event.message();
+        Object payload;
+        if (m.getKind() == null || m.getKind() == MessageKind.TEXT) {
+            // 일반 메시지는 프론트 STOMP 구조(ChatMessageDto) 그대로
+            payload = new ChatMessageDto(
+                    m.getId(),
+                    m.getRoomId(),
+                    m.getSenderId(),
+                    m.getReceiverId(),
+                    m.getContent(),
+                    m.getCreatedAt().toString()
+            );
+        } else {
+            // LinkU 카드 / 후기 알림은 상태를 포함한 ChatMessageRes
+            payload = ChatMessageRes.from(m, event.linkuStatus());
+        }
+        template.convertAndSend("/topic/chat.room." + m.getRoomId(), payload);
+    }
+
+    /**
+     * 받는 사람에게 "이 방에 새 메시지" 알림 (/user/queue/rooms)
+     * - 지금 STOMP 로 접속해 있지 않으면 안 읽은 수 계산도 하지 않고 건너뜀
+     *   (다음에 접속하면 /my-rooms 로 전체를 받음)
+     */
+    private void sendRoomUpdate(ChatMessage m) {
+        Long receiverId = m.getReceiverId();
+        if (receiverId == null) return;
+        String user = String.valueOf(receiverId); // STOMP Principal 이름 = DB PK
+        if (userRegistry.getUser(user) == null) return;
+
+        int unread = chatService.unreadCountForUserInRoom(m.getRoomId(), receiverId);
+        String content = m.getContent();
+        String preview = content != null && content.length() > PREVIEW_LENGTH
+                ? content.substring(0, PREVIEW_LENGTH)
+                : content;
+
+        ChatRoomUpdateRes res = new ChatRoomUpdateRes(
+                m.getRoomId(),
+                m.getSenderId(),
+                ChatRoomListItem.LastMessage.builder()
+                        .content(preview)
+                        .createdAt(m.getCreatedAt())
+                        .build(),
+                unread
+        );
+        template.convertAndSendToUser(user, "/queue/rooms", res);
+    }
+
+    // 커밋된 DB 값으로 방의 LinkU 상태를 다시 계산해서 /topic/linku.room.{roomId} 로
+    private void sendLinkuState(Long roomId) {
+        LinkuStateCache.RoomState state;
+        try {
+            state = linkuService.loadRoomState(roomId);
+        } catch (EntityNotFoundException e) {
+            return; // 그 사이 방이 삭제됨
+        }
+
+        boolean linked = state.status() == LinkuStatus.ACCEPTED;
+        LinkuStateEventRes res = new LinkuStateEventRes(
+                roomId,
+                linked,
+                state.connectionId(),
+                state.status() != null ? state.status().name() : null,
+                linked && !state.reviewed() ? state.targetUserId() : null
+        );
+        template.convertAndSend("/topic/linku.room." + roomId, res);
+    }
+}
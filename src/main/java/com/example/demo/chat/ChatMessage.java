@@ -14,7 +14,11 @@ import java.time.Instant;
 @Builder
 @Table(
         name = "chat_message",
-        indexes = @Index(name = "idx_room_created", columnList = "roomId,createdAt")
+        indexes = {
+                @Index(name = "idx_room_created", columnList = "roomId,createdAt"),
+                // 재접속 동기화: 방별로 마지막으로 받은 id 이후만 읽기
+                @Index(name = "idx_room_id", columnList = "roomId,id")
+        }
 )
 public class ChatMessage {
 
@@ -9,6 +9,8 @@ import org.springframework.data.repository.query.Param;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import java.util.Collection;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
 
@@ -48,6 +50,48 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
             Instant createdAt
     );
 
+    // ===================== 🔹 재접속 동기화용 ((roomId, id) 인덱스) =====================
+
+    // 한 방에서 afterId 이후 메시지 (id 순, 개수는 pageable 로)
+    @Query("select m from ChatMessage m where m.roomId = :roomId and m.id > :afterId order by m.id asc")
+    List<ChatMessage> findByRoomIdAfterId(@Param("roomId") Long roomId,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    // 여러 방에서 afterId 이후 메시지 (id 순, 개수는 pageable 로)
+    @Query("select m from ChatMessage m where m.roomId in :roomIds and m.id > :afterId order by m.id asc")
+    List<ChatMessage> findByRoomIdInAfterId(@Param("roomIds") Collection<Long> roomIds,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
+
+    interface RoomCount {
+        Long getRoomId();
+        long getCount();
+    }
+
+    interface RoomLatest {
+        Long getRoomId();
+        Long getLatestId();
+    }
+
+    // 방별 가장 최신 메시지 id
+    @Query("select m.roomId as roomId, max(m.id) as latestId from ChatMessage m where m.roomId in :roomIds group by m.roomId")
+    List<RoomLatest> findLatestIdByRoomIdIn(@Param("roomIds") Collection<Long> roomIds);
+
+    // 방별 안 읽은 메시지 수 (마지막으로 나간 시각 이후 것만 = unreadCountForUserInRoom 과 같은 기준)
+    @Query("""
+           select m.roomId as roomId, count(m) as count
+             from ChatMessage m
+            where m.roomId in :roomIds
+              and m.receiverId = :userId
+              and m.readFlag = false
+              and not exists (select e.id from ChatRoomExit e
+                               where e.roomId = m.roomId and e.userId = :userId and e.exitedAt >= m.createdAt)
+            group by m.roomId
+           """)
+    List<RoomCount> countUnreadByRoomIdIn(@Param("roomIds") Collection<Long> roomIds,
+                                          @Param("userId") Long userId);
+
     // ===================== 🔹 읽음 처리용 =====================
 
     @Modifying
@@ -60,4 +104,10 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
            """)
     int markAsReadInRoom(@Param("roomId") Long roomId,
                          @Param("userId") Long userId);
+
+    // ===================== 🔹 회원 탈퇴용 =====================
+
+    // 방 여러 개의 메시지 id 를 조금씩 (삭제를 짧은 트랜잭션으로 나누기 위함)
+    @Query("select m.id from ChatMessage m where m.roomId in :roomIds")
+    List<Long> findIdsByRoomIdIn(@Param("roomIds") Collection<Long> roomIds, Pageable pageable);
 }
@@ -0,0 +1,9 @@
+package com.example.demo.chat;
+
+/**
+ * 채팅 메시지가 저장됨 (일반 텍스트 + LinkU 제안/수락/거절/후기 알림 카드)
+ * - 커밋된 뒤 ChatEventDispatcher 가 /topic/chat.room.{roomId} 로 전송
+ *
+ * @param linkuStatus 카드에 함께 보여줄 LinkU 상태 (TEXT / 후기 알림은 null)
+ */
+public record ChatMessageSavedEvent(ChatMessage message, String linkuStatus) {}
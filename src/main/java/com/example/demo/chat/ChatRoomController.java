@@ -3,6 +3,8 @@ package com.example.demo.chat;
 
 import com.example.demo.chat.dto.ChatMessageRes;
 import com.example.demo.chat.dto.ChatRoomListItem;
+import com.example.demo.chat.dto.ChatSyncReq;
+import com.example.demo.chat.dto.ChatSyncRes;
 import com.example.demo.entity.User;
 import com.example.demo.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -93,6 +95,18 @@ public class ChatRoomController {
         return ResponseEntity.ok(dto);
     }
 
+    /**
+     * 🔄 재접속 동기화: 마지막으로 받은 메시지 이후만
+     *  - body: { "rooms": { "12": 340, ... }, "since": 355, "limit": 200 }
+     *  - 응답의 highWaterMark 를 다음 요청의 since 로 사용
+     *  - truncated 면 방별 마지막 id 를 rooms 에 담아 다시 요청
+     */
+    @PostMapping("/sync")
+    public ResponseEntity<ChatSyncRes> sync(@RequestBody ChatSyncReq req) {
+        Long meId = currentUserId();
+        return ResponseEntity.ok(chatService.sync(meId, req));
+    }
+
     /**
      * 🔹 내 채팅방 목록
      *  - 내가 owner 또는 other 인 방들 중에서
@@ -127,7 +141,7 @@ public class ChatRoomController {
                                     .userId(other != null ? other.getUserId() : null)
                                     .name(other != null ? other.getUsername() : null)
                                     .major(other != null ? other.getMajor() : null)
-                                    .avatar(other != null ? other.getProfileImageUrl() : null)
+                                    .avatar(other != null ? other.getProfileAvatarUrl() : null)
                                     .build())
                             .lastMessage(lastOpt.map(m -> ChatRoomListItem.LastMessage.builder()
                                     .content(m.getContent())
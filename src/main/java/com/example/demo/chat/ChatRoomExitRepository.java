@@ -3,7 +3,13 @@ package com.example.demo.chat;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 
 public interface ChatRoomExitRepository extends JpaRepository<ChatRoomExit, Long> {
 
@@ -12,4 +18,29 @@ public interface ChatRoomExitRepository extends JpaRepository<ChatRoomExit, Long
 
     // 마지막 나가기 기록 (가장 최근 exitedAt 기준)
     Optional<ChatRoomExit> findTopByRoomIdAndUserIdOrderByExitedAtDesc(Long roomId, Long userId);
+
+    interface LastExit {
+        Long getRoomId();
+        Instant getExitedAt();
+    }
+
+    // 여러 방의 마지막 나가기 시각 (재접속 동기화에서 한 번에 조회)
+    @Query("""
+           select e.roomId as roomId, max(e.exitedAt) as exitedAt
+             from ChatRoomExit e
+            where e.userId = :userId and e.roomId in :roomIds
+            group by e.roomId
+           """)
+    List<LastExit> findLastExitByRoomIdIn(@Param("roomIds") Collection<Long> roomIds,
+                                          @Param("userId") Long userId);
+
+    // ===================== 🔹 회원 탈퇴용 (bulk delete) =====================
+
+    @Modifying
+    @Query("delete from ChatRoomExit e where e.roomId in :roomIds")
+    int bulkDeleteByRoomIdIn(@Param("roomIds") Collection<Long> roomIds);
+
+    @Modifying
+    @Query("delete from ChatRoomExit e where e.userId = :userId")
+    int bulkDeleteByUserId(@Param("userId") Long userId);
 }
@@ -5,6 +5,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
 
@@ -23,4 +25,14 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
             Long ownerId1, Long otherUserId1,
             Long ownerId2, Long otherUserId2
     );
+
+    // 🔹 이 방의 참여자(owner 또는 other)인지 (STOMP 방 구독 권한 확인용)
+    @Query("select count(r) > 0 from ChatRoom r where r.id = :roomId and (r.ownerId = :userId or r.otherUserId = :userId)")
+    boolean isParticipant(@Param("roomId") Long roomId, @Param("userId") Long userId);
+
+    // ===================== 🔹 회원 탈퇴용 =====================
+
+    // 내가 owner 또는 other 인 방 id
+    @Query("select r.id from ChatRoom r where r.ownerId = :userId or r.otherUserId = :userId")
+    List<Long> findIdsByParticipant(@Param("userId") Long userId);
 }
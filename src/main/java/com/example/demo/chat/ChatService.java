@@ -4,13 +4,22 @@ package com.example.demo.chat;
 import com.example.demo.chat.ChatMessage.MessageKind;
 import com.example.demo.chat.LinkuConnection.LinkuStatus;
 import com.example.demo.chat.dto.ChatMessageRes;
+import com.example.demo.chat.dto.ChatSyncReq;
+import com.example.demo.chat.dto.ChatSyncRes;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -21,8 +30,8 @@ public class ChatService {
     private final ChatRoomExitRepository exitRepo;        // 방 나간 기록 DB
     private final LinkuConnectionRepository connectionRepo; // LinkU 정보 DB
 
-    // STOMP를 이용해 메시지를 브라우저로 보내는 도구
-    private final SimpMessagingTemplate template;
+    // 저장된 메시지 알림 → 커밋 후 ChatEventDispatcher 가 STOMP 로 전송
+    private final ApplicationEventPublisher events;
 
     // ================= 채팅방 생성/조회 =================
 
@@ -61,6 +70,7 @@ public class ChatService {
     /**
      * kind / linkuConnectionId 를 지정해서 저장하는 버전
      * - LinkU 제안/수락/거절/후기 알림도 이걸로 저장
+     * - 저장 후 방 구독자에게 보낼 이벤트 발행 (실제 전송은 커밋 후)
      */
     @Transactional
     public ChatMessage saveMessage(
@@ -70,9 +80,21 @@ public class ChatService {
             String content,
             MessageKind kind,
             Long linkuConnectionId
+    ) {
+        return saveMessage(roomId, senderId, receiverId, content, kind, linkuConnectionId, null);
+    }
+
+    private ChatMessage saveMessage(
+            Long roomId,
+            Long senderId,
+            Long receiverId,
+            String content,
+            MessageKind kind,
+            Long linkuConnectionId,
+            String linkuStatus
     ) {
         // 새 메시지 엔티티 생성 후 저장
-        return msgRepo.save(ChatMessage.builder()
+        ChatMessage saved = msgRepo.save(ChatMessage.builder()
                 .roomId(roomId)
                 .senderId(senderId)
                 .receiverId(receiverId)
@@ -82,6 +104,9 @@ public class ChatService {
                 .kind(kind != null ? kind : MessageKind.TEXT) // 메시지 종류
                 .linkuConnectionId(linkuConnectionId)          // 연결된 LinkU ID
                 .build());
+
+        events.publishEvent(new ChatMessageSavedEvent(saved, linkuStatus));
+        return saved;
     }
 
     // ================= 메시지 조회 (이전 기록 숨기기) =================
@@ -175,6 +200,139 @@ public class ChatService {
                 .build());
     }
 
+    // ================= 재접속 동기화 =================
+
+    private static final int SYNC_DEFAULT_LIMIT = 200;
+    private static final int SYNC_MAX_LIMIT = 500;
+    private static final int SYNC_MAX_CURSOR_ROOMS = 100;
+
+    /**
+     * 재접속한 클라이언트에게 밀린 것만 내려줌 (방 전체 기록을 다시 받지 않도록)
+     * - rooms 에 마지막 id 가 있는 방: 방마다 (roomId, id) 인덱스로 그 이후만
+     * - 나머지 방: since 이후를 한 쿼리로 (since 도 없으면 메시지 없이 요약만)
+     * - 요약(최신 id, 안 읽은 수) / 나간 시각 / LinkU 상태는 각각 한 쿼리로 모아서 조회
+     * - 나간 이후 메시지만 보이는 규칙은 그대로, 읽음 처리는 하지 않음 (방을 열 때 /messages 에서)
+     */
+    @Transactional(readOnly = true)
+    public ChatSyncRes sync(Long userId, ChatSyncReq req) {
+        int limit = req.getLimit() == null
+                ? SYNC_DEFAULT_LIMIT
+                : Math.max(1, Math.min(req.getLimit(), SYNC_MAX_LIMIT));
+        Map<Long, Long> cursors = req.getRooms() != null ? req.getRooms() : Map.of();
+        if (cursors.size() > SYNC_MAX_CURSOR_ROOMS) {
+            throw new IllegalArgumentException("rooms 는 최대 " + SYNC_MAX_CURSOR_ROOMS + "개까지 보낼 수 있습니다.");
+        }
+        Long since = req.getSince();
+
+        List<Long> myRooms = roomRepo.findIdsByParticipant(userId);
+        List<ChatMessage> fetched = new ArrayList<>();
+        boolean truncated = false;
+        int remaining = limit;
+
+        // 1) 방별 기준 id 가 없는 방들은 since 이후를 한 번에
+        List<Long> sinceRooms = new ArrayList<>();
+        List<Long> summaryOnly = new ArrayList<>();
+        for (Long roomId : myRooms) {
+            if (cursors.containsKey(roomId)) continue;
+            (since != null ? sinceRooms : summaryOnly).add(roomId);
+        }
+        if (!sinceRooms.isEmpty()) {
+            List<ChatMessage> list = msgRepo.findByRoomIdInAfterId(
+                    sinceRooms, since, PageRequest.of(0, remaining + 1));
+            if (list.size() > remaining) {
+                truncated = true;
+                list = list.subList(0, remaining);
+            }
+            fetched.addAll(list);
+            remaining -= list.size();
+        }
+
+        // 2) 방별 기준 id 가 있는 방 (내가 참여한 방만)
+        for (Long roomId : myRooms) {
+            Long afterId = cursors.get(roomId);
+            if (afterId == null) continue;
+            if (remaining == 0) {
+                truncated = true;
+                break;
+            }
+            List<ChatMessage> list = msgRepo.findByRoomIdAfterId(
+                    roomId, afterId, PageRequest.of(0, remaining + 1));
+            if (list.size() > remaining) {
+                truncated = true;
+                list = list.subList(0, remaining);
+            }
+            fetched.addAll(list);
+            remaining -= list.size();
+        }
+
+        // 방별로 묶기 (id 순 유지)
+        Map<Long, List<ChatMessage>> byRoom = new LinkedHashMap<>();
+        long highWaterMark = since != null ? since : 0L;
+        for (ChatMessage m : fetched) {
+            byRoom.computeIfAbsent(m.getRoomId(), k -> new ArrayList<>()).add(m);
+            highWaterMark = Math.max(highWaterMark, m.getId());
+        }
+
+        Set<Long> changedRooms = new HashSet<>(byRoom.keySet());
+        changedRooms.addAll(summaryOnly);
+        if (changedRooms.isEmpty()) {
+            return ChatSyncRes.builder()
+                    .rooms(List.of())
+                    .highWaterMark(since)
+                    .truncated(truncated)
+                    .build();
+        }
+
+        // 나간 이후 메시지만 보이도록
+        Map<Long, Instant> exits = new HashMap<>();
+        for (ChatRoomExitRepository.LastExit e : exitRepo.findLastExitByRoomIdIn(byRoom.keySet(), userId)) {
+            exits.put(e.getRoomId(), e.getExitedAt());
+        }
+
+        // 카드 메시지의 LinkU 상태
+        Set<Long> linkuIds = new HashSet<>();
+        for (ChatMessage m : fetched) {
+            if (m.getLinkuConnectionId() != null) linkuIds.add(m.getLinkuConnectionId());
+        }
+        Map<Long, String> linkuStatus = new HashMap<>();
+        if (!linkuIds.isEmpty()) {
+            connectionRepo.findAllById(linkuIds)
+                    .forEach(c -> linkuStatus.put(c.getId(), c.getStatus().name()));
+        }
+
+        // 방 요약
+        Map<Long, Long> latest = new HashMap<>();
+        for (ChatMessageRepository.RoomLatest r : msgRepo.findLatestIdByRoomIdIn(changedRooms)) {
+            latest.put(r.getRoomId(), r.getLatestId());
+        }
+        Map<Long, Long> unread = new HashMap<>();
+        for (ChatMessageRepository.RoomCount r : msgRepo.countUnreadByRoomIdIn(changedRooms, userId)) {
+            unread.put(r.getRoomId(), r.getCount());
+        }
+
+        List<ChatSyncRes.RoomDelta> rooms = new ArrayList<>();
+        for (Long roomId : myRooms) {
+            if (!changedRooms.contains(roomId) || latest.get(roomId) == null) continue;
+            Instant exitedAt = exits.get(roomId);
+            List<ChatMessageRes> messages = byRoom.getOrDefault(roomId, List.of()).stream()
+                    .filter(m -> exitedAt == null || m.getCreatedAt().isAfter(exitedAt))
+                    .map(m -> ChatMessageRes.from(m, linkuStatus.get(m.getLinkuConnectionId())))
+                    .toList();
+            rooms.add(ChatSyncRes.RoomDelta.builder()
+                    .roomId(roomId)
+                    .messages(messages)
+                    .latestMessageId(latest.get(roomId))
+                    .unread(unread.getOrDefault(roomId, 0L).intValue())
+                    .build());
+        }
+
+        return ChatSyncRes.builder()
+                .rooms(rooms)
+                .highWaterMark(highWaterMark)
+                .truncated(truncated)
+                .build();
+    }
+
     // ================= 안 읽은 메시지 개수 계산 =================
 
     /**
@@ -202,7 +360,7 @@ public class ChatService {
     // ================= LinkU용 유틸 (LinkuService에서 사용) =================
 
     /**
-     * LinkU 제안 카드 메시지 저장 + STOMP 브로드캐스트
+     * LinkU 제안 카드 메시지 저장 (+ 커밋 후 STOMP 브로드캐스트)
      * - LinkU를 제안할 때 채팅방에 "카드 형태" 메시지를 남김
      */
     @Transactional
@@ -221,17 +379,15 @@ public class ChatService {
                 targetId,
                 content,
                 MessageKind.LINKU_PROPOSE,
-                connection.getId()
+                connection.getId(),
+                connection.getStatus().name()
         );
 
-        ChatMessageRes res = ChatMessageRes.from(msg, connection.getStatus().name());
-        // 이 방을 보고 있는 클라이언트들에게 메시지 전송
-        template.convertAndSend("/topic/chat.room." + roomId, res);
-        return res;
+        return ChatMessageRes.from(msg, connection.getStatus().name());
     }
 
     /**
-     * LinkU 수락/거절 카드 메시지 저장 + 브로드캐스트
+     * LinkU 수락/거절 카드 메시지 저장 (+ 커밋 후 브로드캐스트)
      * @param accepted true → 수락, false → 거절
      */
     @Transactional
@@ -254,24 +410,23 @@ public class ChatService {
             kind = MessageKind.LINKU_REJECT;
         }
 
+        String status = accepted ? LinkuStatus.ACCEPTED.name() : LinkuStatus.REJECTED.name();
+
         ChatMessage msg = saveMessage(
                 roomId,
                 senderId,
                 receiverId,
                 content,
                 kind,
-                connection.getId()
+                connection.getId(),
+                status
         );
 
-        String status = accepted ? LinkuStatus.ACCEPTED.name() : LinkuStatus.REJECTED.name();
-
-        ChatMessageRes res = ChatMessageRes.from(msg, status);
-        template.convertAndSend("/topic/chat.room." + roomId, res);
-        return res;
+        return ChatMessageRes.from(msg, status);
     }
 
     /**
-     * LinkU 후기 작성 알림 메시지 저장 + 브로드캐스트
+     * LinkU 후기 작성 알림 메시지 저장 (+ 커밋 후 브로드캐스트)
      * - kind: REVIEW_NOTICE
      * - receiverId: 후기를 "받은" 사람
      */
@@ -298,8 +453,6 @@ public class ChatService {
                 connection.getId()
         );
 
-        ChatMessageRes res = ChatMessageRes.from(msg, null);
-        template.convertAndSend("/topic/chat.room." + roomId, res);
-        return res;
+        return ChatMessageRes.from(msg, null);
     }
 }
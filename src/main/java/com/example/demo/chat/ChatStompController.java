@@ -2,12 +2,16 @@
 package com.example.demo.chat;
 
 import com.example.demo.chat.dto.ChatMessageDto;
+import com.example.demo.chat.dto.ChatTypingReq;
+import com.example.demo.chat.dto.PresenceEventRes;
 import com.example.demo.entity.User;
 import com.example.demo.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
 import java.security.Principal;
@@ -15,15 +19,16 @@ import java.security.Principal;
 /**
  * 🔹 STOMP(WebSocket) 기반 채팅 컨트롤러
  *  - 클라이언트가 /app/chat.send 로 메시지를 보내면
- *  - 메시지를 저장한 뒤 /topic/chat.room.{roomId} 로 브로드캐스트
+ *  - 메시지를 저장하면 커밋 후 ChatEventDispatcher 가 /topic/chat.room.{roomId} 로 브로드캐스트
+ *  - 입력 중 표시 / 접속 상태는 PresenceRegistry (DB 저장 없음)
  */
 @Controller
 @RequiredArgsConstructor
 public class ChatStompController {
 
-    private final SimpMessagingTemplate template; // 구독 중인 클라이언트에게 메시지 전송용
     private final ChatService chatService;        // DB 저장/비즈니스 로직
     private final UserRepository userRepository;
+    private final PresenceRegistry presenceRegistry;
 
     /**
      * 💬 채팅 메시지 전송 엔드포인트
@@ -32,7 +37,7 @@ public class ChatStompController {
      *    1) STOMP Principal 에서 보낸 사람 식별
      *    2) roomId/receiverId 검증
      *    3) DB에 저장
-     *    4) 해당 방을 구독 중인 모든 사용자에게 브로드캐스트
+     *    4) (커밋 후) 해당 방을 구독 중인 모든 사용자에게 브로드캐스트
      */
     @MessageMapping("/chat.send")
     public void send(@Payload ChatMessageDto incoming, Principal principal) {
@@ -52,25 +57,37 @@ public class ChatStompController {
         }
 
         // ✅ TEXT 메시지 저장 (여기서 exit 기록도 같이 삭제됨)
-        var saved = chatService.saveMessage(
+        // 브로드캐스트는 저장 결과(id, createdAt 채워진 상태)로 커밋 후 전송됨
+        chatService.saveMessage(
                 incoming.getRoomId(),
                 senderId,
                 incoming.getReceiverId(),
                 incoming.getContent()
         );
+    }
 
-        // 저장 결과로 브로드캐스트 (id, createdAt 채워진 상태)
-        ChatMessageDto outgoing = new ChatMessageDto(
-                saved.getId(),
-                saved.getRoomId(),
-                saved.getSenderId(),
-                saved.getReceiverId(),
-                saved.getContent(),
-                saved.getCreatedAt().toString()
-        );
+    /**
+     * ⌨️ 입력 중 표시
+     * - 프론트: /app/chat.typing 에 { roomId, typing } 전송 (키 입력마다 보내도 서버에서 걸러냄)
+     * - 서버: 저장하지 않고 /topic/typing.room.{roomId} 로만 전달
+     */
+    @MessageMapping("/chat.typing")
+    public void typing(@Payload ChatTypingReq incoming, SimpMessageHeaderAccessor accessor) {
+        if (incoming.getRoomId() == null) {
+            throw new IllegalArgumentException("roomId가 필요합니다.");
+        }
+        presenceRegistry.typing(accessor.getSessionId(), incoming.getRoomId(), incoming.isTyping());
+    }
 
-        // 같은 roomId 를 구독 중인 클라이언트에게 전송
-        template.convertAndSend("/topic/chat.room." + saved.getRoomId(), outgoing);
+    /**
+     * 👀 방 접속 상태 조회
+     * - 프론트: /app/presence.room.{roomId} 를 구독하면 지금 목록을 1회 받음
+     *   이후 변경은 /topic/presence.room.{roomId} 구독으로 받음
+     * - 두 주소 모두 방 참여자만 구독 가능 (RoomSubscriptionInterceptor)
+     */
+    @SubscribeMapping("/presence.room.{roomId}")
+    public PresenceEventRes presence(@DestinationVariable Long roomId) {
+        return presenceRegistry.snapshot(roomId);
     }
 
     /**
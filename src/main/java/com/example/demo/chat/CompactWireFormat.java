@@ -0,0 +1,98 @@
+package com.example.demo.chat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * STOMP 메시지 본문을 짧은 JSON 으로 바꾸는 변환기 (x-wire-format: compact 로 접속한 클라이언트용)
+ * - 자주 쓰는 필드 이름은 아래 표의 짧은 이름으로 (표에 없는 이름은 그대로)
+ * - 시각 필드(createdAt)는 ISO 문자열 대신 epoch 밀리초 숫자로
+ * - null 필드는 생략
+ *
+ * <pre>
+ * id→i  roomId→r  senderId→s  receiverId→to  content→c  createdAt→t
+ * kind→k  linkuId→l  linkuStatus→ls
+ * linked→ln  connectionId→cid  status→st  reviewableBy→rb
+ * lastMessage→lm  unread→u
+ * </pre>
+ */
+public class CompactWireFormat {
+
+    public static final String CONTENT_TYPE = "application/vnd.linku.compact+json";
+
+    private static final Map<String, String> SHORT_NAMES = Map.ofEntries(
+            Map.entry("id", "i"),
+            Map.entry("roomId", "r"),
+            Map.entry("senderId", "s"),
+            Map.entry("receiverId", "to"),
+            Map.entry("content", "c"),
+            Map.entry("createdAt", "t"),
+            Map.entry("kind", "k"),
+            Map.entry("linkuId", "l"),
+            Map.entry("linkuStatus", "ls"),
+            Map.entry("linked", "ln"),
+            Map.entry("connectionId", "cid"),
+            Map.entry("status", "st"),
+            Map.entry("reviewableBy", "rb"),
+            Map.entry("lastMessage", "lm"),
+            Map.entry("unread", "u"),
+            Map.entry("userId", "uid"),
+            Map.entry("userIds", "us"),
+            Map.entry("typing", "ty")
+    );
+
+    private static final Set<String> TIME_FIELDS = Set.of("createdAt");
+
+    private final ObjectMapper mapper;
+
+    public CompactWireFormat(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /** JSON 바이트 → 짧은 JSON 바이트 (JSON 이 아니면 IOException) */
+    public byte[] encode(byte[] json) throws IOException {
+        return mapper.writeValueAsBytes(shrink(mapper.readTree(json)));
+    }
+
+    private JsonNode shrink(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode out = mapper.createObjectNode();
+            Iterator<Map.Entry<String, JsonNode>> it = node.fields();
+            while (it.hasNext()) {
+                Map.Entry<String, JsonNode> f = it.next();
+                JsonNode value = f.getValue();
+                if (value.isNull()) continue;
+                String key = f.getKey();
+                out.set(SHORT_NAMES.getOrDefault(key, key),
+                        TIME_FIELDS.contains(key) ? toEpochMillis(value) : shrink(value));
+            }
+            return out;
+        }
+        if (node.isArray()) {
+            ArrayNode out = mapper.createArrayNode();
+            node.forEach(e -> out.add(shrink(e)));
+            return out;
+        }
+        return node;
+    }
+
+    // ISO-8601 Instant 문자열만 숫자로 바꾸고, 그 외 형식은 그대로 둠
+    private static JsonNode toEpochMillis(JsonNode value) {
+        if (!value.isTextual()) return value;
+        try {
+            return LongNode.valueOf(Instant.parse(value.asText()).toEpochMilli());
+        } catch (DateTimeParseException e) {
+            return value;
+        }
+    }
+}
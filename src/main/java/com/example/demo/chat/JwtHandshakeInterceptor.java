@@ -0,0 +1,79 @@
+package com.example.demo.chat;
+
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.JwtTokenProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔐 순수 WebSocket 엔드포인트(/ws-native) 업그레이드 시 JWT 인증
+ * - 토큰: Authorization: Bearer ... 헤더 (앱/서버 클라이언트)
+ *         또는 ?access_token=... (브라우저는 WebSocket 에 헤더를 못 붙이므로)
+ * - 업그레이드 때 한 번만 검사하고, Principal(이름 = DB PK)을 세션에 심어 둠
+ *   → 이후 STOMP CONNECT 에 토큰이 없어도 같은 사용자로 처리
+ * - 토큰이 없거나 잘못되면 401 로 업그레이드 거절
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String PRINCIPAL_ATTRIBUTE = JwtHandshakeInterceptor.class.getName() + ".principal";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final UserRepository userRepository;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String token = resolveToken(request);
+        if (token == null || !jwtTokenProvider.validate(token)) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+
+        // StompAuthChannelInterceptor 와 같은 규칙: Principal 이름은 DB PK 문자열
+        String userId = jwtTokenProvider.getUsername(token);
+        Long id = userRepository.findByUserId(userId).map(User::getId).orElse(null);
+        if (id == null) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+
+        Principal principal = new UsernamePasswordAuthenticationToken(
+                String.valueOf(id),
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))
+        );
+        attributes.put(PRINCIPAL_ATTRIBUTE, principal);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    private String resolveToken(ServerHttpRequest request) {
+        String auth = request.getHeaders().getFirst("Authorization");
+        if (auth != null && auth.startsWith("Bearer ")) {
+            return auth.substring(7);
+        }
+        return UriComponentsBuilder.fromUri(request.getURI())
+                .build()
+                .getQueryParams()
+                .getFirst("access_token");
+    }
+}
@@ -3,12 +3,17 @@ package com.example.demo.chat;
 
 import com.example.demo.chat.LinkuConnection.LinkuStatus;
 import com.example.demo.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.Modifying;
+import java.util.Collection;
 
 public interface LinkuConnectionRepository extends JpaRepository<LinkuConnection, Long> {
 
@@ -18,53 +23,151 @@ public interface LinkuConnectionRepository extends JpaRepository<LinkuConnection
             LinkuStatus status
     );
 
-    Optional<LinkuConnection> findFirstByRoom_IdAndRequesterAndTargetOrderByCreatedAtDesc(
-            Long roomId,
-            User requester,
-            User target
-    );
+    interface RoomStateRow {
+        Long getConnectionId();
+        LinkuStatus getStatus();
+        String getTargetUserId();
+        boolean isReviewed();
+    }
 
     /**
-     * 진행 중인 협업 수
-     * - ACCEPTED 상태이고 completed = false 인 것만 카운트
+     * 채팅방의 현재 LinkU 한 건 (상태 조회용)
+     * - ACCEPTED 가 있으면 그중 최신, 없으면 PENDING 중 최신 → 한 쿼리로 정렬해서 첫 줄만 (pageable 1개)
+     * - reviewed: 제안 받은 사람(target)이 이미 후기를 남겼는지
      */
     @Query("""
-            select count(c)
+            select c.id as connectionId,
+                   c.status as status,
+                   t.userId as targetUserId,
+                   case when exists (select r.id from LinkuReview r
+                                      where r.connection.id = c.id and r.reviewer.id = t.id)
+                        then true else false end as reviewed
             from LinkuConnection c
-            where c.status = com.example.demo.chat.LinkuConnection.LinkuStatus.ACCEPTED
-              and c.completed = false
-              and (c.requester.id = :userId or c.target.id = :userId)
+            join c.target t
+            where c.room.id = :roomId
+              and c.status in (com.example.demo.chat.LinkuConnection.LinkuStatus.ACCEPTED,
+                               com.example.demo.chat.LinkuConnection.LinkuStatus.PENDING)
+            order by case when c.status = com.example.demo.chat.LinkuConnection.LinkuStatus.ACCEPTED
+                          then 0 else 1 end,
+                     c.createdAt desc
             """)
-    long countOngoingByUserId(@Param("userId") Long userId);
+    List<RoomStateRow> findCurrentStateByRoomId(@Param("roomId") Long roomId, Pageable pageable);
 
-    /**
-     * 진행한 협업 수
-     * - ACCEPTED 상태인 모든 LinkU (completed 여부 상관 X)
-     */
-    @Query("""
-            select count(c)
-            from LinkuConnection c
-            where c.status = com.example.demo.chat.LinkuConnection.LinkuStatus.ACCEPTED
-              and (c.requester.id = :userId or c.target.id = :userId)
-            """)
-    long countAcceptedByUserId(@Param("userId") Long userId);
+    Optional<LinkuConnection> findFirstByRoom_IdAndRequesterAndTargetOrderByCreatedAtDesc(
+            Long roomId,
+            User requester,
+            User target
+    );
 
     /**
      * ✅ 내 링크유 목록
      * - ACCEPTED 이고 completed = true 인 것만 (협업 종료 + 리뷰 작성 완료)
      * - 내가 requester 이거나 target 인 것
+     * - 페이지 단위 (최신순)
      */
-    @Query("""
+    @Query(value = """
         select c
         from LinkuConnection c
         join fetch c.requester
         join fetch c.target
         join fetch c.room
-        left join fetch c.talentPost   
+        left join fetch c.talentPost
+        where c.status = com.example.demo.chat.LinkuConnection.LinkuStatus.ACCEPTED
+          and c.completed = true
+          and (c.requester.id = :userId or c.target.id = :userId)
+        order by c.createdAt desc, c.id desc
+        """,
+            countQuery = """
+        select count(c)
+        from LinkuConnection c
         where c.status = com.example.demo.chat.LinkuConnection.LinkuStatus.ACCEPTED
           and c.completed = true
           and (c.requester.id = :userId or c.target.id = :userId)
-        order by c.createdAt desc
         """)
-    List<LinkuConnection> findCompletedByUserId(@Param("userId") Long userId);
+    Page<LinkuConnection> findCompletedByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    interface HistoryExtra {
+        Long getConnectionId();
+        LocalDateTime getLastReviewAt();
+        String getLegacyPostTitle();
+    }
+
+    /**
+     * 내 링크유 목록 한 페이지에 필요한 부가 정보를 한 번에 조회
+     * - 마지막 리뷰 작성 시각 (종료일)
+     * - 예전 데이터용 room.postId 의 재능 글 제목
+     */
+    @Query("""
+        select c.id as connectionId,
+               (select max(r.createdAt) from LinkuReview r where r.connection.id = c.id) as lastReviewAt,
+               (select p.title from TalentPost p where p.id = c.room.postId) as legacyPostTitle
+        from LinkuConnection c
+        where c.id in :ids
+        """)
+    List<HistoryExtra> findHistoryExtras(@Param("ids") Collection<Long> ids);
+
+    // ===================== 🔹 user_linku_stats 재계산용 =====================
+
+    interface SideCount {
+        Long getUserId();
+        long getAccepted();
+        long getOngoing();
+    }
+
+    // 제안자 쪽 ACCEPTED / 진행 중 수
+    @Query("""
+            select c.requester.id as userId,
+                   count(c) as accepted,
+                   sum(case when c.completed = false then 1 else 0 end) as ongoing
+            from LinkuConnection c
+            where c.status = com.example.demo.chat.LinkuConnection.LinkuStatus.ACCEPTED
+              and c.requester.id in :userIds
+            group by c.requester.id
+            """)
+    List<SideCount> countAcceptedAsRequester(@Param("userIds") Collection<Long> userIds);
+
+    // 제안 받은 쪽 ACCEPTED / 진행 중 수 (자기 자신과의 LinkU 는 제안자 쪽에서 이미 셈)
+    @Query("""
+            select c.target.id as userId,
+                   count(c) as accepted,
+                   sum(case when c.completed = false then 1 else 0 end) as ongoing
+            from LinkuConnection c
+            where c.status = com.example.demo.chat.LinkuConnection.LinkuStatus.ACCEPTED
+              and c.target.id in :userIds
+              and c.requester.id <> c.target.id
+            group by c.target.id
+            """)
+    List<SideCount> countAcceptedAsTarget(@Param("userIds") Collection<Long> userIds);
+
+    interface Pair {
+        Long getRequesterId();
+        Long getTargetId();
+    }
+
+    // 회원 탈퇴로 함께 지워질 ACCEPTED LinkU 의 양쪽 회원 (탈퇴 후 상대방 집계 재계산용)
+    @Query("""
+            select c.requester.id as requesterId, c.target.id as targetId
+            from LinkuConnection c
+            where c.status = com.example.demo.chat.LinkuConnection.LinkuStatus.ACCEPTED
+              and (c.requester.id = :userId
+                   or c.target.id = :userId
+                   or c.room.id in (select r.id from ChatRoom r
+                                     where r.ownerId = :userId or r.otherUserId = :userId)
+                   or c.talentPost.id in (select p.id from TalentPost p where p.author.id = :userId))
+            """)
+    List<Pair> findAcceptedPairsAffectedByUser(@Param("userId") Long userId);
+
+    // ===================== 🔹 회원 탈퇴용 (bulk delete, 리뷰를 먼저 지운 뒤 호출) =====================
+
+    @Modifying
+    @Query("delete from LinkuConnection c where c.room.id in :roomIds")
+    int bulkDeleteByRoomIdIn(@Param("roomIds") Collection<Long> roomIds);
+
+    @Modifying
+    @Query("delete from LinkuConnection c where c.talentPost.id in :postIds")
+    int bulkDeleteByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("delete from LinkuConnection c where c.requester.id = :userId or c.target.id = :userId")
+    int bulkDeleteByUserId(@Param("userId") Long userId);
 }
@@ -4,17 +4,17 @@ package com.example.demo.chat;
 import com.example.demo.chat.dto.LinkuMyConnectionRes;
 import com.example.demo.chat.dto.LinkuProposeReq;
 import com.example.demo.chat.dto.LinkuRatingSummaryRes;
+import com.example.demo.chat.dto.LinkuReviewPageRes;
 import com.example.demo.chat.dto.LinkuReviewReq;
-import com.example.demo.chat.dto.LinkuReviewRes;
 import com.example.demo.chat.dto.LinkuStateRes;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * 🔹 LinkU 협업 흐름 API
  *  - 채팅방에서 LinkU 제안/수락/거절
@@ -36,6 +36,11 @@ public class LinkuController {
         return (String) a.getPrincipal();
     }
 
+    /** 페이지 크기는 1 ~ 100 사이로 */
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, 100));
+    }
+
     // ===== LinkU 상태 조회 =====
 
     /**
@@ -117,25 +122,35 @@ public class LinkuController {
         return ResponseEntity.ok().build();
     }
 
-    /** 📄 내가 받은 LinkU 후기 목록 */
+    /**
+     * 📄 내가 받은 LinkU 후기 목록 (최신순)
+     * - 예: ?size=20 → 응답의 nextCursor 를 ?cursor= 로 넘겨 다음 페이지
+     */
     @GetMapping("/linku/reviews/me")
-    public ResponseEntity<List<LinkuReviewRes>> myReviews() {
+    public ResponseEntity<LinkuReviewPageRes> myReviews(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
         String userId = currentUserIdOrNull();
         if (userId == null) {
             return ResponseEntity.status(401).build();
         }
-        List<LinkuReviewRes> res = linkuService.getMyReviews(userId);
+        LinkuReviewPageRes res = linkuService.getMyReviews(userId, cursor, pageSize(size));
         return ResponseEntity.ok(res);
     }
 
-    /** 📄 특정 유저가 받은 후기 목록 (프로필 화면용) */
+    /** 📄 특정 유저가 받은 후기 목록 (프로필 화면용, 커서 방식은 위와 동일) */
     @GetMapping("/linku/reviews/user-id/{userId}")
-    public ResponseEntity<List<LinkuReviewRes>> reviewsByUserId(@PathVariable String userId) {
+    public ResponseEntity<LinkuReviewPageRes> reviewsByUserId(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
         String me = currentUserIdOrNull();
         if (me == null) {
             return ResponseEntity.status(401).build();
         }
-        List<LinkuReviewRes> res = linkuService.getUserReviewsByLoginId(userId);
+        LinkuReviewPageRes res = linkuService.getUserReviewsByLoginId(userId, cursor, pageSize(size));
         return ResponseEntity.ok(res);
     }
 
@@ -195,14 +210,19 @@ public class LinkuController {
      * 🤝 내가 참여한 LinkU 목록
      * - 마이페이지 > LinkU 탭에서 사용
      * - 상대 프로필, 상태, 연결된 재능글 정보 등을 한 번에 내려줌
+     * - 예: ?page=0&size=20 (최신순)
      */
     @GetMapping("/linku/connections/me")
-    public ResponseEntity<List<LinkuMyConnectionRes>> myConnections() {
+    public ResponseEntity<Page<LinkuMyConnectionRes>> myConnections(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
         String userId = currentUserIdOrNull();
         if (userId == null) {
             return ResponseEntity.status(401).build();
         }
-        List<LinkuMyConnectionRes> res = linkuService.getMyConnections(userId);
+        Page<LinkuMyConnectionRes> res = linkuService.getMyConnections(
+                userId, PageRequest.of(page, pageSize(size)));
         return ResponseEntity.ok(res);
     }
 }
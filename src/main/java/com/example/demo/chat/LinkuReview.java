@@ -9,7 +9,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "linku_reviews")
+@Table(
+        name = "linku_reviews",
+        // 받은 후기 목록 (target 기준 최신순 커서 조회)
+        indexes = @Index(name = "idx_linku_review_target_created", columnList = "target_id,createdAt")
+)
 @Getter
 @Setter
 @NoArgsConstructor
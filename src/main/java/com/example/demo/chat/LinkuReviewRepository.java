@@ -1,29 +1,106 @@
 // src/main/java/com/example/demo/chat/LinkuReviewRepository.java
 package com.example.demo.chat;
 
+import com.example.demo.chat.LinkuReview.RelationRating;
 import com.example.demo.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.Modifying;
+import java.util.Collection;
 
 public interface LinkuReviewRepository extends JpaRepository<LinkuReview, Long> {
 
     // 특정 LinkU 연결에 대해, 내가 이미 리뷰를 남겼는지
     boolean existsByConnection_IdAndReviewer(Long connectionId, User reviewer);
 
-    // 내가 '대상(target)'인 리뷰 목록 (내가 받은 후기들)
-    List<LinkuReview> findByTargetOrderByCreatedAtDesc(User target);
+    // 후기 목록 한 줄 (리뷰어 이름/전공까지 join 해서 한 번에)
+    interface ReviewRow {
+        Long getId();
+        RelationRating getRelationRating();
+        int getKindnessScore();
+        String getContent();
+        String getReviewerName();
+        String getReviewerUserId();
+        String getReviewerMajor();
+        LocalDateTime getCreatedAt();
+    }
 
-    // ⭐ 내/상대 별점 평균 구하기 (kindnessScore 평균)
-    @Query("select avg(r.kindnessScore) from LinkuReview r where r.target.id = :targetId")
-    Double findAverageKindnessScoreByTargetId(@Param("targetId") Long targetId);
+    // 내가 '대상(target)'인 리뷰 목록 첫 페이지 (최신순, 개수는 pageable 로)
+    @Query("""
+           select r.id as id, r.relationRating as relationRating, r.kindnessScore as kindnessScore,
+                  r.content as content, u.username as reviewerName, u.userId as reviewerUserId,
+                  u.major as reviewerMajor, r.createdAt as createdAt
+             from LinkuReview r
+             join r.reviewer u
+            where r.target.id = :targetId
+            order by r.createdAt desc, r.id desc
+           """)
+    List<ReviewRow> findRowsByTargetId(@Param("targetId") Long targetId, Pageable pageable);
 
-    // ⭐ 내/상대가 받은 리뷰 개수
-    long countByTarget_Id(Long targetId);
+    // 다음 페이지: (createdAt, id) 가 커서보다 오래된 것만
+    @Query("""
+           select r.id as id, r.relationRating as relationRating, r.kindnessScore as kindnessScore,
+                  r.content as content, u.username as reviewerName, u.userId as reviewerUserId,
+                  u.major as reviewerMajor, r.createdAt as createdAt
+             from LinkuReview r
+             join r.reviewer u
+            where r.target.id = :targetId
+              and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))
+            order by r.createdAt desc, r.id desc
+           """)
+    List<ReviewRow> findRowsByTargetIdBefore(@Param("targetId") Long targetId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
 
     // ✅ 특정 LinkU 연결에 대한 최신 리뷰
     Optional<LinkuReview> findFirstByConnection_IdOrderByCreatedAtDesc(Long connectionId);
+
+    interface TargetSum {
+        Long getUserId();
+        long getReviews();
+        long getKindness();
+    }
+
+    // user_linku_stats 재계산용: 받은 리뷰 수 / 친절 점수 합계
+    @Query("""
+           select r.target.id as userId, count(r) as reviews, sum(r.kindnessScore) as kindness
+             from LinkuReview r
+            where r.target.id in :userIds
+            group by r.target.id
+           """)
+    List<TargetSum> sumByTargetIdIn(@Param("userIds") Collection<Long> userIds);
+
+    // ===================== 🔹 회원 탈퇴용 (bulk delete) =====================
+
+    @Modifying
+    @Query("""
+           delete from LinkuReview r
+            where r.connection.id in (select c.id from LinkuConnection c where c.room.id in :roomIds)
+           """)
+    int bulkDeleteByRoomIdIn(@Param("roomIds") Collection<Long> roomIds);
+
+    @Modifying
+    @Query("""
+           delete from LinkuReview r
+            where r.connection.id in (select c.id from LinkuConnection c where c.talentPost.id in :postIds)
+           """)
+    int bulkDeleteByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    // 내가 쓴/받은 리뷰 + 내가 참여한 LinkU 에 달린 리뷰
+    @Modifying
+    @Query("""
+           delete from LinkuReview r
+            where r.reviewer.id = :userId
+               or r.target.id = :userId
+               or r.connection.id in (select c.id from LinkuConnection c
+                                       where c.requester.id = :userId or c.target.id = :userId)
+           """)
+    int bulkDeleteByUserId(@Param("userId") Long userId);
 }
@@ -5,6 +5,7 @@ import com.example.demo.chat.LinkuConnection.LinkuStatus;
 import com.example.demo.chat.LinkuReview.RelationRating;
 import com.example.demo.chat.dto.LinkuMyConnectionRes;
 import com.example.demo.chat.dto.LinkuRatingSummaryRes;
+import com.example.demo.chat.dto.LinkuReviewPageRes;
 import com.example.demo.chat.dto.LinkuReviewReq;
 import com.example.demo.chat.dto.LinkuReviewRes;
 import com.example.demo.chat.dto.LinkuStateRes;
@@ -13,12 +14,20 @@ import com.example.demo.repository.TalentPostRepository;
 import com.example.demo.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,53 +40,62 @@ public class LinkuService {
     private final LinkuReviewRepository reviewRepository;          // LinkU 후기 DB
     private final ChatService chatService;                         // 채팅 알림용
     private final TalentPostRepository talentPostRepository;       // 재능 글 DB
+    private final LinkuStatsService statsService;                  // 회원별 별점/협업 집계
+    private final LinkuStateCache stateCache;                      // 방별 현재 LinkU 상태 캐시
+    private final ApplicationEventPublisher events;                // 커밋 후 상태 푸시용
 
     // ===== LinkU 상태 조회 =====
-    @Transactional(readOnly = true)
+    // 채팅 화면이 자주 부르는 API → 방 기준 상태는 캐시, 놓치면 한 쿼리로 계산
+    // (캐시 적중 시 DB 연결을 잡지 않도록 메서드 트랜잭션은 두지 않음)
     public LinkuStateRes getState(Long roomId, String currentUserLoginId) {
-        ChatRoom room = chatRoomRepository.findById(roomId)
-                .orElseThrow(() -> new EntityNotFoundException("room not found"));
-
-        User current = findUserByUserId(currentUserLoginId);
-
-        // 1순위: ACCEPTED 상태인 것 중 가장 최신
-        LinkuConnection latest = connectionRepository
-                .findFirstByRoom_IdAndStatusOrderByCreatedAtDesc(room.getId(), LinkuStatus.ACCEPTED)
-                .orElse(null);
-
-        // 2순위: ACCEPTED가 없으면 PENDING 상태 중 가장 최신
-        if (latest == null) {
-            latest = connectionRepository
-                    .findFirstByRoom_IdAndStatusOrderByCreatedAtDesc(room.getId(), LinkuStatus.PENDING)
-                    .orElse(null);
-        }
+        LinkuStateCache.RoomState state = stateCache.get(roomId, () -> loadRoomState(roomId));
 
         // LinkU 기록 자체가 없으면, 아직 LinkU를 한 적 없는 방
-        if (latest == null) {
+        if (state.connectionId() == null) {
             return new LinkuStateRes(false, false, null, null);
         }
 
         // ACCEPTED 상태면 실제로 연결된 상태
-        boolean linked = latest.getStatus() == LinkuStatus.ACCEPTED;
+        boolean linked = state.status() == LinkuStatus.ACCEPTED;
 
         // 내가 리뷰를 쓸 수 있는지 여부
-        boolean canReview = false;
-        if (linked && current.getId().equals(latest.getTarget().getId())) {
-            // 현재 설계: 제안을 받은 사람(target)만 리뷰 작성 가능
-            boolean alreadyReviewed =
-                    reviewRepository.existsByConnection_IdAndReviewer(latest.getId(), current);
-            canReview = !alreadyReviewed;
-        }
+        // 현재 설계: 제안을 받은 사람(target)만, 아직 후기를 안 썼을 때 작성 가능
+        boolean canReview = linked
+                && currentUserLoginId.equals(state.targetUserId())
+                && !state.reviewed();
 
         // 프론트에서 계속 사용할 수 있도록 connectionId, status 내려줌
         return new LinkuStateRes(
                 linked,
                 canReview,
-                latest.getId(),
-                latest.getStatus().name()
+                state.connectionId(),
+                state.status().name()
         );
     }
 
+    // 1순위 ACCEPTED 최신, 2순위 PENDING 최신 + target 후기 작성 여부를 한 쿼리로
+    // (캐시 없이 바로 읽음: 상태 변경 푸시에서도 사용)
+    LinkuStateCache.RoomState loadRoomState(Long roomId) {
+        List<LinkuConnectionRepository.RoomStateRow> rows =
+                connectionRepository.findCurrentStateByRoomId(roomId, PageRequest.of(0, 1));
+        if (rows.isEmpty()) {
+            // LinkU 가 없을 때만 방이 실제로 있는지 확인
+            if (!chatRoomRepository.existsById(roomId)) {
+                throw new EntityNotFoundException("room not found");
+            }
+            return LinkuStateCache.RoomState.NONE;
+        }
+        LinkuConnectionRepository.RoomStateRow row = rows.get(0);
+        return new LinkuStateCache.RoomState(
+                row.getConnectionId(), row.getStatus(), row.getTargetUserId(), row.isReviewed());
+    }
+
+    // 방 상태 캐시 비우기 + 커밋 후 /topic/linku.room.{id} 로 새 상태 푸시
+    private void roomStateChanged(Long roomId) {
+        stateCache.evict(roomId);
+        events.publishEvent(new LinkuStateChangedEvent(roomId));
+    }
+
     // ===== LinkU 제안 =====
     @Transactional
     public LinkuStateRes propose(Long roomId, String requesterLoginId,
@@ -109,6 +127,7 @@ public class LinkuService {
         }
 
         connectionRepository.save(conn);
+        roomStateChanged(room.getId());
 
         // 채팅방에 LinkU 제안 카드 메시지 전송
         chatService.sendLinkuProposeMessage(conn, message);
@@ -129,11 +148,16 @@ public class LinkuService {
             throw new IllegalStateException("수락 권한이 없습니다.");
         }
 
+        LinkuStatus beforeStatus = conn.getStatus();
+        boolean beforeCompleted = conn.isCompleted();
+
         conn.setStatus(LinkuStatus.ACCEPTED);  // 상태를 ACCEPTED로 변경
         conn.setCompleted(false);              // 수락 이후에는 진행 중 상태
         if (conn.getAcceptedAt() == null) {
             conn.setAcceptedAt(LocalDateTime.now()); // 수락 시간 기록
         }
+        statsService.onConnectionChanged(conn, beforeStatus, beforeCompleted);
+        roomStateChanged(conn.getRoom().getId());
 
         // 채팅방에 "수락됨" 메시지 보내기
         chatService.sendLinkuStatusMessage(conn, true);
@@ -153,8 +177,13 @@ public class LinkuService {
             throw new IllegalStateException("거절 권한이 없습니다.");
         }
 
+        LinkuStatus beforeStatus = conn.getStatus();
+        boolean beforeCompleted = conn.isCompleted();
+
         conn.setStatus(LinkuStatus.REJECTED);
         conn.setCompleted(false); // 거절된 건 협업 진행에 포함하지 않음
+        statsService.onConnectionChanged(conn, beforeStatus, beforeCompleted);
+        roomStateChanged(conn.getRoom().getId());
 
         // 채팅방에 "거절됨" 메시지 보내기
         chatService.sendLinkuStatusMessage(conn, false);
@@ -192,41 +221,55 @@ public class LinkuService {
         review.setContent(req.getContent());
 
         reviewRepository.save(review);
+        statsService.onReviewAdded(review);
 
         // 이 LinkU 협업을 완료 상태로 표시
+        boolean beforeCompleted = conn.isCompleted();
         conn.setCompleted(true);
+        statsService.onConnectionChanged(conn, conn.getStatus(), beforeCompleted);
+        roomStateChanged(room.getId());
 
         // 후기 작성 알림 메시지 채팅방에 전송
         chatService.sendReviewNoticeMessage(conn, review);
     }
 
-    // ===== 내가 받은 리뷰 목록 =====
+    // ===== 내가 받은 리뷰 목록 (커서 페이지) =====
     @Transactional(readOnly = true)
-    public List<LinkuReviewRes> getMyReviews(String currentUserLoginId) {
+    public LinkuReviewPageRes getMyReviews(String currentUserLoginId, String cursor, int size) {
         User me = findUserByUserId(currentUserLoginId);
-        List<LinkuReview> list = reviewRepository.findByTargetOrderByCreatedAtDesc(me);
-        return toReviewResList(list);
+        return findReviewPage(me.getId(), cursor, size);
     }
 
-    // ===== 특정 유저(userId)가 받은 리뷰 목록 (프로필용) =====
+    // ===== 특정 유저(userId)가 받은 리뷰 목록 (프로필용, 커서 페이지) =====
     @Transactional(readOnly = true)
-    public List<LinkuReviewRes> getUserReviewsByLoginId(String userLoginId) {
+    public LinkuReviewPageRes getUserReviewsByLoginId(String userLoginId, String cursor, int size) {
         User target = findUserByUserId(userLoginId);
-        List<LinkuReview> list = reviewRepository.findByTargetOrderByCreatedAtDesc(target);
-        return toReviewResList(list);
+        return findReviewPage(target.getId(), cursor, size);
     }
 
     // ===== 내 LinkU(협업) 목록 조회 =====
+    // 페이지마다 목록 1번 + 부가 정보(종료일/예전 글 제목) 1번 (+ count)
     @Transactional(readOnly = true)
-    public List<LinkuMyConnectionRes> getMyConnections(String currentUserLoginId) {
+    public Page<LinkuMyConnectionRes> getMyConnections(String currentUserLoginId, Pageable pageable) {
         User me = findUserByUserId(currentUserLoginId);
         Long myId = me.getId();
 
         // 나와 관련된 완료된 LinkU 목록
-        List<LinkuConnection> conns = connectionRepository.findCompletedByUserId(myId);
+        Page<LinkuConnection> conns = connectionRepository.findCompletedByUserId(myId, pageable);
+
+        // connectionId → 종료일 / 예전 글 제목
+        Map<Long, LinkuConnectionRepository.HistoryExtra> extras = new HashMap<>();
+        List<Long> ids = conns.map(LinkuConnection::getId).getContent();
+        if (!ids.isEmpty()) {
+            for (LinkuConnectionRepository.HistoryExtra e : connectionRepository.findHistoryExtras(ids)) {
+                extras.put(e.getConnectionId(), e);
+            }
+        }
         DateTimeFormatter dateFmt = DateTimeFormatter.ofPattern("yyyy년 MM월 dd일");
 
-        return conns.stream().map(c -> {
+        return conns.map(c -> {
+            LinkuConnectionRepository.HistoryExtra extra = extras.get(c.getId());
+
             // 제안 보낸 사람
             User requester = c.getRequester();
             // 제안 받은 사람
@@ -235,12 +278,12 @@ public class LinkuService {
             // 앞쪽 아바타: 항상 제안자
             Long proposerId = requester.getId();
             String proposerName = safeName(requester);
-            String proposerProfile = requester.getProfileImageUrl();
+            String proposerProfile = requester.getProfileAvatarUrl();
 
             // 뒤쪽 아바타: 항상 제안 받은 사람
             Long partnerId = target.getId();
             String partnerName = safeName(target);
-            String partnerProfile = target.getProfileImageUrl();
+            String partnerProfile = target.getProfileAvatarUrl();
 
             // 재능 글 정보
             Long postId = null;
@@ -251,13 +294,10 @@ public class LinkuService {
                 postId = c.getTalentPost().getId();
                 postTitle = c.getTalentPost().getTitle();
             }
-            // 2순위: 예전 데이터는 room.postId 에서 가져오기
+            // 2순위: 예전 데이터는 room.postId 에서 가져오기 (제목은 한 번에 조회해 둔 값)
             else if (c.getRoom() != null && c.getRoom().getPostId() != null) {
                 postId = c.getRoom().getPostId();
-                var postOpt = talentPostRepository.findById(postId);
-                if (postOpt.isPresent()) {
-                    postTitle = postOpt.get().getTitle();
-                }
+                postTitle = extra != null ? extra.getLegacyPostTitle() : null;
             }
 
             // 협업 시작 날짜 (수락일이 있으면 수락일, 없으면 생성일)
@@ -269,9 +309,9 @@ public class LinkuService {
                     : null;
 
             // 마지막 리뷰 작성 날짜 기준으로 종료일 표시
-            var reviewOpt = reviewRepository.findFirstByConnection_IdOrderByCreatedAtDesc(c.getId());
-            String end = reviewOpt.isPresent() && reviewOpt.get().getCreatedAt() != null
-                    ? reviewOpt.get().getCreatedAt().toLocalDate().format(dateFmt)
+            LocalDateTime lastReviewAt = extra != null ? extra.getLastReviewAt() : null;
+            String end = lastReviewAt != null
+                    ? lastReviewAt.toLocalDate().format(dateFmt)
                     : null;
 
             String periodTxt;
@@ -298,7 +338,7 @@ public class LinkuService {
                     end,
                     periodTxt
             );
-        }).collect(Collectors.toList());
+        });
     }
 
     // 이름이 없으면 userId로 대신 보여주는 헬퍼
@@ -310,29 +350,71 @@ public class LinkuService {
         return name;
     }
 
-    // 리뷰 엔티티 리스트를 응답 DTO 리스트로 변환
-    private List<LinkuReviewRes> toReviewResList(List<LinkuReview> list) {
-        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    // 받은 후기 한 페이지 조회
+    // - 리뷰어 이름/전공은 같은 쿼리에서 join 으로 가져옴 (리뷰어마다 추가 쿼리 없음)
+    // - size + 1 개를 읽어서 다음 페이지가 있는지 판단
+    private LinkuReviewPageRes findReviewPage(Long targetId, String cursor, int size) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<LinkuReviewRepository.ReviewRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = reviewRepository.findRowsByTargetId(targetId, limit);
+        } else {
+            ReviewCursor c = ReviewCursor.parse(cursor);
+            rows = reviewRepository.findRowsByTargetIdBefore(targetId, c.createdAt(), c.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
 
-        return list.stream()
+        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+        List<LinkuReviewRes> items = rows.stream()
                 .map(r -> {
-                    String displayName = r.getReviewer().getUsername();
+                    String displayName = r.getReviewerName();
                     if (displayName == null || displayName.isBlank()) {
-                        displayName = r.getReviewer().getUserId();
+                        displayName = r.getReviewerUserId();
                     }
-                    String major = r.getReviewer().getMajor();
-
                     return new LinkuReviewRes(
                             r.getId(),
                             r.getRelationRating().name(),
                             r.getKindnessScore(),
                             r.getContent(),
                             displayName,
-                            major,
+                            r.getReviewerMajor(),
                             (r.getCreatedAt() != null ? r.getCreatedAt().format(fmt) : null)
                     );
                 })
                 .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasNext) {
+            LinkuReviewRepository.ReviewRow last = rows.get(rows.size() - 1);
+            nextCursor = new ReviewCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new LinkuReviewPageRes(items, nextCursor);
+    }
+
+    // 후기 목록 커서: 마지막으로 본 (createdAt, id) 를 base64url 로 감싼 값
+    private record ReviewCursor(LocalDateTime createdAt, Long id) {
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ReviewCursor parse(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int bar = raw.indexOf('|');
+                return new ReviewCursor(
+                        LocalDateTime.parse(raw.substring(0, bar)),
+                        Long.valueOf(raw.substring(bar + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("잘못된 cursor 값입니다.");
+            }
+        }
     }
 
     // ===== 리뷰 삭제 (본인/상대방 둘 다 삭제 가능) =====
@@ -352,17 +434,19 @@ public class LinkuService {
         }
 
         reviewRepository.delete(review);
+        statsService.onReviewRemoved(review);
+        // 후기가 사라지면 다시 작성 가능해지므로 방 상태도 갱신
+        roomStateChanged(review.getConnection().getRoom().getId());
     }
 
     // ===== 내 별점 평균 / 리뷰 개수 =====
-    @Transactional(readOnly = true)
+    // 트랜잭션 없이: 집계 행이 없으면 LinkuStatsService 가 자기 트랜잭션으로 만듦 (커넥션 하나만 사용)
     public LinkuRatingSummaryRes getMyRatingSummary(String currentUserLoginId) {
         User me = findUserByUserId(currentUserLoginId);
         return buildRatingSummaryForUser(me);
     }
 
     // ===== 특정 유저(타인) 별점 요약 (PK 기준) =====
-    @Transactional(readOnly = true)
     public LinkuRatingSummaryRes getUserRatingSummary(Long targetUserId) {
         User target = userRepository.findById(targetUserId)
                 .orElseThrow(() -> new EntityNotFoundException("user not found: " + targetUserId));
@@ -370,33 +454,29 @@ public class LinkuService {
     }
 
     // ===== 특정 유저(타인) 별점 요약 (userId 기준) =====
-    @Transactional(readOnly = true)
     public LinkuRatingSummaryRes getUserRatingSummaryByLoginId(String userLoginId) {
         User target = findUserByUserId(userLoginId);
         return buildRatingSummaryForUser(target);
     }
 
     // ===== 공통 별점 요약 로직 =====
+    // user_linku_stats 에 미리 모아 둔 값을 PK 로 한 번만 읽음
     private LinkuRatingSummaryRes buildRatingSummaryForUser(User target) {
-        Long userId = target.getId();
+        UserLinkuStats stats = statsService.get(target.getId());
 
         // 친절 점수 평균
-        Double avg = reviewRepository.findAverageKindnessScoreByTargetId(userId);
-        long reviewCount = reviewRepository.countByTarget_Id(userId);
+        long reviewCount = stats.getReviewCount();
+        double avg = reviewCount > 0 ? (double) stats.getKindnessSum() / reviewCount : 0.0;
 
-        if (avg == null) {
-            avg = 0.0;
-        }
         // 소수점 첫째 자리까지만 남기기
         double rounded = Math.round(avg * 10) / 10.0;
 
-        // 진행 중인 협업 수
-        long ongoingCount = connectionRepository.countOngoingByUserId(userId);
-
-        // ACCEPTED 된 전체 협업 수
-        long acceptedCount = connectionRepository.countAcceptedByUserId(userId);
-
-        return new LinkuRatingSummaryRes(rounded, reviewCount, ongoingCount, acceptedCount);
+        return new LinkuRatingSummaryRes(
+                rounded,
+                reviewCount,
+                stats.getOngoingCount(),   // 진행 중인 협업 수
+                stats.getAcceptedCount()   // ACCEPTED 된 전체 협업 수
+        );
     }
 
     // ===== 유저 조회 헬퍼 =====
@@ -0,0 +1,82 @@
+package com.example.demo.chat;
+
+import com.example.demo.chat.LinkuConnection.LinkuStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 채팅방별 현재 LinkU 상태 캐시 (채팅 화면이 주기적으로 조회하는 값)
+ * - 내용은 사용자와 상관없는 방 기준 값 → 사용자별 응답(canReview 등)은 LinkuService 에서 계산
+ * - 제안/수락/거절/후기 작성·삭제 시 바로 한 번, 커밋 후 한 번 더 지움
+ * - DB 를 읽는 사이 무효화가 있었으면 읽은 값은 넣지 않음 (오래된 값이 다시 들어가는 것 방지)
+ * - 그래도 놓친 변경(회원 탈퇴 등)은 ttl 이 지나면 다시 읽음
+ */
+@Component
+public class LinkuStateCache {
+
+    /** 방의 현재 LinkU (connectionId == null 이면 LinkU 기록 없음) */
+    public record RoomState(Long connectionId, LinkuStatus status, String targetUserId, boolean reviewed) {
+        static final RoomState NONE = new RoomState(null, null, null, false);
+    }
+
+    private record Entry(RoomState state, long expiresAt) {}
+
+    private final ConcurrentHashMap<Long, Entry> byRoom = new ConcurrentHashMap<>();
+    // 무효화가 일어날 때마다 증가 (읽는 도중 변경 감지용)
+    private final AtomicLong invalidations = new AtomicLong();
+    private final long ttlMs;
+    private final int maxEntries;
+
+    public LinkuStateCache(@Value("${app.linku-state.cache-ttl-seconds:60}") long ttlSeconds,
+                           @Value("${app.linku-state.cache-max-entries:10000}") int maxEntries) {
+        this.ttlMs = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    public RoomState get(Long roomId, Supplier<RoomState> loader) {
+        long now = System.currentTimeMillis();
+        Entry e = byRoom.get(roomId);
+        if (e != null && e.expiresAt() > now) {
+            return e.state();
+        }
+
+        long before = invalidations.get();
+        RoomState loaded = loader.get();
+        if (invalidations.get() == before && byRoom.size() < maxEntries) {
+            byRoom.put(roomId, new Entry(loaded, now + ttlMs));
+        }
+        return loaded;
+    }
+
+    /** 지금 지우고, 트랜잭션 안이면 커밋 후에도 한 번 더 지움 */
+    public void evict(Long roomId) {
+        evictNow(roomId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(roomId);
+                }
+            });
+        }
+    }
+
+    private void evictNow(Long roomId) {
+        invalidations.incrementAndGet();
+        byRoom.remove(roomId);
+    }
+
+    // 만료된 항목 정리
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        byRoom.values().removeIf(e -> e.expiresAt() <= now);
+    }
+}
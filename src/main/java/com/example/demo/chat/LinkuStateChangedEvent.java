@@ -0,0 +1,7 @@
+package com.example.demo.chat;
+
+/**
+ * 채팅방의 LinkU 상태가 바뀜 (제안/수락/거절/후기 작성·삭제)
+ * - 커밋된 뒤 ChatEventDispatcher 가 받아서 /topic/linku.room.{roomId} 로 전송
+ */
+public record LinkuStateChangedEvent(Long roomId) {}
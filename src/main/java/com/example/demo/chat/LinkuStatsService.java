@@ -0,0 +1,187 @@
+package com.example.demo.chat;
+
+import com.example.demo.chat.LinkuConnection.LinkuStatus;
+import com.example.demo.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ⭐ 회원별 LinkU 집계(user_linku_stats) 관리
+ *  - 수락/거절/리뷰 작성/리뷰 삭제 시 LinkuService 트랜잭션 안에서 증감만 반영
+ *  - 행이 없는 회원은 처음 조회할 때 원본 테이블(리뷰/LinkU)로 계산해서 만듦
+ *    (행이 없을 때의 증감은 건너뜀 → 나중에 커밋된 원본으로 계산할 때 이미 포함됨)
+ *  - 별도(REQUIRES_NEW) 트랜잭션은 쓰지 않음 → 요청 하나가 커넥션을 두 개 잡지 않음
+ *  - 증감이 어긋날 수 있는 경우(첫 생성과 증감이 겹침, 회원 탈퇴 등)는 주기적인 전체 재계산으로 맞춤
+ */
+@Service
+@Slf4j
+public class LinkuStatsService {
+
+    private final UserLinkuStatsRepository statsRepository;
+    private final LinkuConnectionRepository connectionRepository;
+    private final LinkuReviewRepository reviewRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate tx;
+    private final int rebuildBatchSize;
+
+    public LinkuStatsService(UserLinkuStatsRepository statsRepository,
+                             LinkuConnectionRepository connectionRepository,
+                             LinkuReviewRepository reviewRepository,
+                             UserRepository userRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.linku-stats.rebuild-batch-size:500}") int rebuildBatchSize) {
+        this.statsRepository = statsRepository;
+        this.connectionRepository = connectionRepository;
+        this.reviewRepository = reviewRepository;
+        this.userRepository = userRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    /**
+     * 조회: PK 한 번 (없으면 계산해서 생성)
+     * - 트랜잭션 밖에서 호출해야 행을 저장함
+     *   (바깥 트랜잭션 안이면 계산한 값만 돌려줌: 읽기 전용일 수 있고, 동시 생성 충돌로 바깥 트랜잭션이 깨지면 안 됨)
+     */
+    public UserLinkuStats get(Long userId) {
+        return statsRepository.findById(userId).orElseGet(() -> createFromSource(userId));
+    }
+
+    // ===== 증감 반영 (호출하는 쪽 트랜잭션 안에서 실행) =====
+
+    /**
+     * LinkU 상태/완료 여부가 바뀐 뒤 호출
+     * - 바뀌기 전 값과 비교해서 ACCEPTED / 진행 중 수를 양쪽 회원에게 더하거나 뺌
+     */
+    public void onConnectionChanged(LinkuConnection conn, LinkuStatus beforeStatus, boolean beforeCompleted) {
+        long accepted = acceptedWeight(conn.getStatus()) - acceptedWeight(beforeStatus);
+        long ongoing = ongoingWeight(conn.getStatus(), conn.isCompleted())
+                - ongoingWeight(beforeStatus, beforeCompleted);
+        if (accepted == 0 && ongoing == 0) return;
+
+        Long requesterId = conn.getRequester().getId();
+        Long targetId = conn.getTarget().getId();
+        add(requesterId, 0, 0, ongoing, accepted);
+        if (!targetId.equals(requesterId)) {
+            add(targetId, 0, 0, ongoing, accepted);
+        }
+    }
+
+    public void onReviewAdded(LinkuReview review) {
+        add(review.getTarget().getId(), 1, review.getKindnessScore(), 0, 0);
+    }
+
+    public void onReviewRemoved(LinkuReview review) {
+        add(review.getTarget().getId(), -1, -review.getKindnessScore(), 0, 0);
+    }
+
+    // ===== 회원 탈퇴 =====
+    public int delete(Long userId) {
+        return statsRepository.bulkDeleteByUserId(userId);
+    }
+
+    // ===== 재계산 =====
+
+    /**
+     * 전체 회원 재계산 (id 순으로 rebuildBatchSize 명씩, 묶음마다 짧은 트랜잭션)
+     * - 재계산 도중 들어온 증감은 덮어써질 수 있지만 다음 주기에 다시 맞춰짐
+     */
+    @Scheduled(cron = "${app.linku-stats.rebuild-cron:0 30 4 * * *}")
+    public void rebuildAll() {
+        long afterId = 0L;
+        int total = 0;
+        while (true) {
+            List<Long> ids = userRepository.findIdsAfter(afterId, PageRequest.of(0, rebuildBatchSize));
+            if (ids.isEmpty()) break;
+            tx.executeWithoutResult(s -> rebuild(ids));
+            total += ids.size();
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < rebuildBatchSize) break;
+        }
+        log.info("user_linku_stats 재계산 완료 ({}명)", total);
+    }
+
+    /**
+     * 지정한 회원들만 원본 테이블 기준으로 다시 계산해서 덮어씀 (호출하는 쪽 트랜잭션 안에서 실행)
+     */
+    public void rebuild(Collection<Long> userIds) {
+        if (userIds.isEmpty()) return;
+        Map<Long, UserLinkuStats> computed = compute(userIds);
+        Map<Long, UserLinkuStats> existing = new LinkedHashMap<>();
+        statsRepository.findAllById(userIds).forEach(s -> existing.put(s.getUserId(), s));
+
+        for (UserLinkuStats c : computed.values()) {
+            UserLinkuStats s = existing.get(c.getUserId());
+            if (s == null) {
+                statsRepository.save(c);
+                continue;
+            }
+            s.setReviewCount(c.getReviewCount());
+            s.setKindnessSum(c.getKindnessSum());
+            s.setOngoingCount(c.getOngoingCount());
+            s.setAcceptedCount(c.getAcceptedCount());
+        }
+    }
+
+    // 행이 있으면 DB 에서 바로 더함. 없으면 건너뜀 (처음 조회할 때 커밋된 원본으로 계산하면 이번 변경도 포함됨)
+    private void add(Long userId, long reviews, long kindness, long ongoing, long accepted) {
+        statsRepository.addDelta(userId, reviews, kindness, ongoing, accepted);
+    }
+
+    // 원본 기준으로 계산해서 저장 (트랜잭션 밖에서만, 그 외에는 계산값만 반환)
+    private UserLinkuStats createFromSource(Long userId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return compute(List.of(userId)).get(userId);
+        }
+        try {
+            return tx.execute(s -> statsRepository.findById(userId)
+                    .orElseGet(() -> statsRepository.saveAndFlush(compute(List.of(userId)).get(userId))));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 요청이 먼저 만든 경우: 실패한 트랜잭션은 롤백됐으므로 새 트랜잭션에서 다시 읽음
+            return tx.execute(s -> statsRepository.findById(userId)).orElseThrow(() -> e);
+        }
+    }
+
+    private Map<Long, UserLinkuStats> compute(Collection<Long> userIds) {
+        Map<Long, UserLinkuStats> out = new LinkedHashMap<>();
+        for (Long id : userIds) {
+            out.put(id, new UserLinkuStats(id, 0, 0, 0, 0));
+        }
+        for (LinkuReviewRepository.TargetSum r : reviewRepository.sumByTargetIdIn(userIds)) {
+            UserLinkuStats s = out.get(r.getUserId());
+            s.setReviewCount(r.getReviews());
+            s.setKindnessSum(r.getKindness());
+        }
+        addSides(out, connectionRepository.countAcceptedAsRequester(userIds));
+        addSides(out, connectionRepository.countAcceptedAsTarget(userIds));
+        return out;
+    }
+
+    private static void addSides(Map<Long, UserLinkuStats> out, List<LinkuConnectionRepository.SideCount> rows) {
+        for (LinkuConnectionRepository.SideCount r : rows) {
+            UserLinkuStats s = out.get(r.getUserId());
+            s.setAcceptedCount(s.getAcceptedCount() + r.getAccepted());
+            s.setOngoingCount(s.getOngoingCount() + r.getOngoing());
+        }
+    }
+
+    private static long acceptedWeight(LinkuStatus status) {
+        return status == LinkuStatus.ACCEPTED ? 1 : 0;
+    }
+
+    private static long ongoingWeight(LinkuStatus status, boolean completed) {
+        return status == LinkuStatus.ACCEPTED && !completed ? 1 : 0;
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.demo.chat;
+
+import com.example.demo.chat.dto.PresenceEventRes;
+import com.example.demo.chat.dto.TypingEventRes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅방 접속 상태 / 입력 중 표시 (서버 메모리만 사용, DB 저장 없음)
+ * - STOMP 세션 이벤트로 갱신: CONNECTED(세션 등록) → SUBSCRIBE /topic/chat.room.{id}(방 입장)
+ *   → UNSUBSCRIBE / DISCONNECT(방 퇴장)
+ * - 방에 사람이 처음 들어오거나 마지막 세션이 나가면 /topic/presence.room.{roomId} 로 전체 목록 전송
+ * - 방 구독은 RoomSubscriptionInterceptor 가 참여자(owner/other)에게만 허용
+ * - 입력 중 표시는 그 방을 구독 중인 세션만 보낼 수 있고, 세션·방마다 min-interval 에 1번만 전달
+ * - 서버를 여러 대로 늘리면 서버별 상태가 되므로 공용 저장소/브로커로 옮겨야 함
+ */
+@Component
+public class PresenceRegistry {
+
+    private static final String CHAT_ROOM_PREFIX = "/topic/chat.room.";
+
+    private final SimpMessagingTemplate template;
+    private final long typingIntervalMillis;
+
+    // sessionId → 세션 상태 (인증된 세션만)
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+    // roomId → (userId → 그 방을 보고 있는 세션 수). 탭 여러 개를 열어도 한 명으로 셈
+    private final Map<Long, Map<Long, Integer>> rooms = new ConcurrentHashMap<>();
+
+    public PresenceRegistry(SimpMessagingTemplate template,
+                            @Value("${app.chat.typing.min-interval-ms:2000}") long typingIntervalMillis) {
+        this.template = template;
+        this.typingIntervalMillis = typingIntervalMillis;
+    }
+
+    /**
+     * @param subscriptions subscription id → roomId
+     * @param typingSent    roomId → 마지막으로 전달한 입력 중 표시
+     */
+    private record SessionState(Long userId,
+                                Map<String, Long> subscriptions,
+                                Map<Long, TypingSent> typingSent) {
+    }
+
+    /** 마지막으로 전달한 입력 중 표시 (at: 전달 시각 ms) */
+    private record TypingSent(long at, boolean typing) {
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        Long userId = toUserId(event.getUser());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (userId == null || sessionId == null) {
+            return;
+        }
+        sessions.put(sessionId, new SessionState(userId, new ConcurrentHashMap<>(), new ConcurrentHashMap<>()));
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor acc = StompHeaderAccessor.wrap(event.getMessage());
+        Long roomId = toRoomId(acc.getDestination());
+        SessionState state = roomId != null ? sessions.get(acc.getSessionId()) : null;
+        if (state == null || acc.getSubscriptionId() == null) {
+            return;
+        }
+        Long previous = state.subscriptions().put(acc.getSubscriptionId(), roomId);
+        if (roomId.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            leave(state, previous);
+        }
+        join(state, roomId);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor acc = StompHeaderAccessor.wrap(event.getMessage());
+        SessionState state = sessions.get(acc.getSessionId());
+        if (state == null || acc.getSubscriptionId() == null) {
+            return;
+        }
+        Long roomId = state.subscriptions().remove(acc.getSubscriptionId());
+        if (roomId != null) {
+            leave(state, roomId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        SessionState state = sessions.remove(event.getSessionId());
+        if (state == null) {
+            return;
+        }
+        List<Long> joined = new ArrayList<>(state.subscriptions().values());
+        state.subscriptions().clear();
+        for (Long roomId : joined) {
+            leave(state, roomId);
+        }
+    }
+
+    /**
+     * 입력 중 표시를 방에 전달 (/topic/typing.room.{roomId})
+     * - 이 세션이 그 방을 구독 중이 아니면 무시
+     *   (구독은 RoomSubscriptionInterceptor 가 방 참여자만 허용하므로 = 참여자 확인)
+     * - true/false 상관없이 세션·방마다 min-interval 에 1번만 전달 (클라이언트가 키 입력마다 보내도 됨)
+     * - typing=false 는 직전에 true 를 전달했을 때만 전달
+     *   → min-interval 안에 온 false 는 버려지므로 프론트는 입력 중 표시를 몇 초 뒤 자동으로 지움
+     */
+    public void typing(String sessionId, Long roomId, boolean typing) {
+        SessionState state = sessionId != null ? sessions.get(sessionId) : null;
+        if (state == null || !state.subscriptions().containsValue(roomId)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        boolean[] send = {false};
+        state.typingSent().compute(roomId, (k, last) -> {
+            boolean nothingToStop = !typing && (last == null || !last.typing());
+            if (nothingToStop || (last != null && now - last.at() < typingIntervalMillis)) {
+                return last;
+            }
+            send[0] = true;
+            return new TypingSent(now, typing);
+        });
+        if (send[0]) {
+            template.convertAndSend("/topic/typing.room." + roomId,
+                    new TypingEventRes(roomId, state.userId(), typing));
+        }
+    }
+
+    /**
+     * 지금 방을 보고 있는 사람 목록 (User PK 오름차순)
+     */
+    public PresenceEventRes snapshot(Long roomId) {
+        Map<Long, Integer> users = rooms.get(roomId);
+        List<Long> userIds = users != null ? new ArrayList<>(users.keySet()) : new ArrayList<>();
+        userIds.sort(null);
+        return new PresenceEventRes(roomId, userIds);
+    }
+
+    private void join(SessionState state, Long roomId) {
+        boolean[] changed = {false};
+        rooms.compute(roomId, (k, users) -> {
+            if (users == null) {
+                users = new ConcurrentHashMap<>();
+            }
+            changed[0] = users.merge(state.userId(), 1, Integer::sum) == 1;
+            return users;
+        });
+        if (changed[0]) {
+            broadcastPresence(roomId);
+        }
+    }
+
+    private void leave(SessionState state, Long roomId) {
+        // 입력 중이던 방을 나가면 멈춤으로 정리
+        if (!state.subscriptions().containsValue(roomId)) {
+            stopTyping(state, roomId);
+        }
+        boolean[] changed = {false};
+        rooms.computeIfPresent(roomId, (k, users) -> {
+            changed[0] = users.computeIfPresent(state.userId(), (u, n) -> n > 1 ? n - 1 : null) == null;
+            return users.isEmpty() ? null : users;
+        });
+        if (changed[0]) {
+            broadcastPresence(roomId);
+        }
+    }
+
+    // 구독이 이미 정리된 세션용 typing=false
+    // - 전달 시각은 그대로 둠 → 구독/해제를 반복해도 min-interval 제한이 풀리지 않음
+    private void stopTyping(SessionState state, Long roomId) {
+        boolean[] send = {false};
+        state.typingSent().computeIfPresent(roomId, (k, last) -> {
+            if (!last.typing()) return last;
+            send[0] = true;
+            return new TypingSent(last.at(), false);
+        });
+        if (send[0]) {
+            template.convertAndSend("/topic/typing.room." + roomId,
+                    new TypingEventRes(roomId, state.userId(), false));
+        }
+    }
+
+    private void broadcastPresence(Long roomId) {
+        template.convertAndSend("/topic/presence.room." + roomId, snapshot(roomId));
+    }
+
+    private static Long toRoomId(String destination) {
+        if (destination == null || !destination.startsWith(CHAT_ROOM_PREFIX)) {
+            return null;
+        }
+        return tryParseLong(destination.substring(CHAT_ROOM_PREFIX.length()));
+    }
+
+    // STOMP Principal 이름은 DB PK 문자열 (StompAuthChannelInterceptor / JwtHandshakeInterceptor)
+    private static Long toUserId(Principal principal) {
+        return principal != null ? tryParseLong(principal.getName()) : null;
+    }
+
+    private static Long tryParseLong(String s) {
+        try {
+            return Long.valueOf(s);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.demo.chat;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 클라이언트가 보내는 SUBSCRIBE / SEND 주소 검사
+ * - 방 단위 주소 구독은 그 방 참여자(owner / other)만 허용
+ *   · /topic/chat.room.{id}, /topic/typing.room.{id}, /topic/presence.room.{id}, /topic/linku.room.{id}
+ *   · /app/presence.room.{id} (접속 상태 1회 조회)
+ * - 브로커 주소(/topic, /queue, /user)는 위 방 주소와 /user/queue/rooms 만 구독 가능
+ *   · simple broker 는 구독 주소를 Ant 패턴으로 해석함 (/topic/chat.room.* 이면 모든 방 수신)
+ *     → 패턴 문자(*, ?, {)가 들어간 주소는 어디든 거절
+ * - 클라이언트가 브로커 주소로 직접 SEND 하는 것은 거절
+ *   (브로커가 그대로 구독자에게 퍼뜨려서 참여자 확인 / 입력 중 표시 간격 제한을 건너뜀 → /app 으로만 보냄)
+ * - 거절하면 프레임이 브로커로 가지 않고 ERROR 프레임이 나감
+ *   → SessionSubscribeEvent 도 발행되지 않으므로 PresenceRegistry 에는 참여자 구독만 남음
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomSubscriptionInterceptor implements ChannelInterceptor {
+
+    private static final Pattern ROOM_DESTINATION =
+            Pattern.compile("^/(?:topic/(?:chat|typing|presence|linku)|app/presence)\\.room\\.(\\d+)$");
+
+    // 방 주소 외에 구독을 허용하는 브로커 주소
+    private static final Set<String> USER_DESTINATIONS = Set.of("/user/queue/rooms");
+
+    // simple broker + 사용자 주소 prefix (WebSocketConfig)
+    private static final List<String> BROKER_PREFIXES = List.of("/topic", "/queue", "/user");
+
+    private final ChatRoomRepository chatRoomRepository;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor acc = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (acc == null || acc.getDestination() == null) {
+            return message;
+        }
+        if (StompCommand.SEND.equals(acc.getCommand())) {
+            checkSend(acc.getDestination());
+        } else if (StompCommand.SUBSCRIBE.equals(acc.getCommand())) {
+            checkSubscribe(acc.getDestination(), acc.getUser());
+        }
+        return message;
+    }
+
+    private void checkSend(String destination) {
+        if (isBrokerDestination(destination)) {
+            throw new AccessDeniedException("브로커 주소로 직접 보낼 수 없습니다.");
+        }
+    }
+
+    private void checkSubscribe(String destination, Principal principal) {
+        if (destination.indexOf('*') >= 0 || destination.indexOf('?') >= 0 || destination.indexOf('{') >= 0) {
+            throw new AccessDeniedException("패턴 주소는 구독할 수 없습니다.");
+        }
+
+        Matcher m = ROOM_DESTINATION.matcher(destination);
+        if (m.matches()) {
+            Long roomId = tryParseLong(m.group(1));
+            Long userId = toUserId(principal);
+            if (roomId == null || userId == null || !chatRoomRepository.isParticipant(roomId, userId)) {
+                throw new AccessDeniedException("채팅방 참여자만 구독할 수 있습니다.");
+            }
+            return;
+        }
+
+        if (isBrokerDestination(destination) && !USER_DESTINATIONS.contains(destination)) {
+            throw new AccessDeniedException("구독할 수 없는 주소입니다.");
+        }
+    }
+
+    private static boolean isBrokerDestination(String destination) {
+        return BROKER_PREFIXES.stream().anyMatch(destination::startsWith);
+    }
+
+    // STOMP Principal 이름은 DB PK 문자열 (StompAuthChannelInterceptor / JwtHandshakeInterceptor)
+    private static Long toUserId(Principal principal) {
+        return principal != null ? tryParseLong(principal.getName()) : null;
+    }
+
+    private static Long tryParseLong(String s) {
+        try {
+            return Long.valueOf(s);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
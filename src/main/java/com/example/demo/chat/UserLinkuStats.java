@@ -0,0 +1,49 @@
+package com.example.demo.chat;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 회원별 LinkU 별점/협업 집계 (프로필 별점 요약을 PK 한 번으로 읽기 위한 테이블)
+ * - 수락/거절/리뷰 작성/리뷰 삭제 때마다 증감 UPDATE 로 갱신
+ * - 어긋난 값은 LinkuStatsService 의 재계산 작업이 원본 테이블 기준으로 맞춰 줌
+ */
+@Entity
+@Table(name = "user_linku_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserLinkuStats {
+
+    // users.id 와 같은 값 (FK 없이 보관, 회원 탈퇴 시 함께 삭제)
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // 받은 리뷰 수
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    // 받은 리뷰의 친절 점수 합계 (평균 = kindnessSum / reviewCount)
+    @Column(name = "kindness_sum", nullable = false)
+    private long kindnessSum;
+
+    // 진행 중인 협업 수 (ACCEPTED + completed = false)
+    @Column(name = "ongoing_count", nullable = false)
+    private long ongoingCount;
+
+    // 진행한 협업 수 (ACCEPTED 전체)
+    @Column(name = "accepted_count", nullable = false)
+    private long acceptedCount;
+
+    public UserLinkuStats(Long userId, long reviewCount, long kindnessSum,
+                          long ongoingCount, long acceptedCount) {
+        this.userId = userId;
+        this.reviewCount = reviewCount;
+        this.kindnessSum = kindnessSum;
+        this.ongoingCount = ongoingCount;
+        this.acceptedCount = acceptedCount;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demo.chat;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UserLinkuStatsRepository extends JpaRepository<UserLinkuStats, Long> {
+
+    // 읽고-쓰기 대신 DB 에서 바로 더하기 (동시 수락/리뷰가 겹쳐도 값이 사라지지 않음)
+    @Modifying(flushAutomatically = true)
+    @Query("""
+           update UserLinkuStats s
+              set s.reviewCount = s.reviewCount + :reviews,
+                  s.kindnessSum = s.kindnessSum + :kindness,
+                  s.ongoingCount = s.ongoingCount + :ongoing,
+                  s.acceptedCount = s.acceptedCount + :accepted
+            where s.userId = :userId
+           """)
+    int addDelta(@Param("userId") Long userId,
+                 @Param("reviews") long reviews,
+                 @Param("kindness") long kindness,
+                 @Param("ongoing") long ongoing,
+                 @Param("accepted") long accepted);
+
+    @Modifying
+    @Query("delete from UserLinkuStats s where s.userId = :userId")
+    int bulkDeleteByUserId(@Param("userId") Long userId);
+}
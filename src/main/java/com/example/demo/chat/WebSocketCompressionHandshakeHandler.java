@@ -0,0 +1,56 @@
+package com.example.demo.chat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WebSocket 업그레이드 시 permessage-deflate(프레임 압축) 협상 여부
+ * - 브라우저가 요청하고 서버(Tomcat)가 지원하면 기본으로 켜짐 → 프레임이 압축되어 전송
+ * - app.ws.permessage-deflate=false 면 요청해도 빼고 응답 (CPU 를 아끼고 싶을 때)
+ * - SockJS 의 xhr/polling 같은 대체 전송에는 해당 없음
+ * - /ws-native 처럼 업그레이드 때 JWT 를 검사한 경우, 그 사용자를 WebSocket 세션 Principal 로 사용
+ */
+@Component
+public class WebSocketCompressionHandshakeHandler extends DefaultHandshakeHandler {
+
+    private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    private final boolean deflateEnabled;
+
+    public WebSocketCompressionHandshakeHandler(
+            @Value("${app.ws.permessage-deflate:true}") boolean deflateEnabled) {
+        this.deflateEnabled = deflateEnabled;
+    }
+
+    @Override
+    protected List<WebSocketExtension> filterRequestedExtensions(ServerHttpRequest request,
+                                                                 List<WebSocketExtension> requestedExtensions,
+                                                                 List<WebSocketExtension> supportedExtensions) {
+        List<WebSocketExtension> accepted =
+                super.filterRequestedExtensions(request, requestedExtensions, supportedExtensions);
+        if (deflateEnabled) {
+            return accepted;
+        }
+        return accepted.stream()
+                .filter(e -> !PERMESSAGE_DEFLATE.equalsIgnoreCase(e.getName()))
+                .toList();
+    }
+
+    @Override
+    protected Principal determineUser(ServerHttpRequest request, WebSocketHandler wsHandler,
+                                      Map<String, Object> attributes) {
+        Object principal = attributes.get(JwtHandshakeInterceptor.PRINCIPAL_ATTRIBUTE);
+        if (principal instanceof Principal p) {
+            return p;
+        }
+        return super.determineUser(request, wsHandler, attributes);
+    }
+}
@@ -14,6 +14,10 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final RoomSubscriptionInterceptor roomSubscriptionInterceptor;
+    private final WireFormatChannelInterceptor wireFormatChannelInterceptor;
+    private final WebSocketCompressionHandshakeHandler handshakeHandler;
+    private final JwtHandshakeInterceptor jwtHandshakeInterceptor;
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
@@ -21,20 +25,39 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 // 🔥 배포 포함 모든 origin 허용 (Netlify + localhost 등)
                 //   - 나중에 필요하면 "https://네-프론트-도메인.netlify.app" 처럼 구체적으로 바꿔도 됨
                 .setAllowedOriginPatterns("*")
+                // WebSocket 전송이면 permessage-deflate 협상
+                .setHandshakeHandler(handshakeHandler)
                 .withSockJS();
+
+        // 순수 WebSocket 엔드포인트 (SockJS 프레이밍 / /info 요청 없음)
+        //   - ws(s)://.../ws-native?access_token=JWT 로 바로 연결, 인증은 업그레이드 때 한 번
+        //   - WebSocket 을 못 쓰는 환경은 위의 /ws (SockJS) 를 그대로 사용
+        registry.addEndpoint("/ws-native")
+                .setAllowedOriginPatterns("*")
+                .setHandshakeHandler(handshakeHandler)
+                .addInterceptors(jwtHandshakeInterceptor);
     }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        // 클라이언트가 구독하는 주소 prefix: /topic/...
-        registry.enableSimpleBroker("/topic");
+        // 클라이언트가 구독하는 주소 prefix: /topic/... (방 단위), /queue/... (사용자 단위)
+        registry.enableSimpleBroker("/topic", "/queue");
         // 클라이언트가 보낼 때 사용하는 prefix: /app/...
         registry.setApplicationDestinationPrefixes("/app");
+        // 사용자별 주소: 클라이언트는 /user/queue/rooms 구독 → 서버는 convertAndSendToUser(DB PK, "/queue/rooms")
+        registry.setUserDestinationPrefix("/user");
     }
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         // STOMP CONNECT / SEND 들어오는 쪽에서 JWT 인증 처리
-        registration.interceptors(stompAuthChannelInterceptor);
+        // 방 단위 주소 SUBSCRIBE 는 그 방 참여자만, 패턴 구독 / 브로커 주소로 직접 SEND 는 거절 (인증 다음에 확인)
+        registration.interceptors(stompAuthChannelInterceptor, roomSubscriptionInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // x-wire-format: compact 로 접속한 세션은 짧은 JSON 으로 변환해서 전송
+        registration.interceptors(wireFormatChannelInterceptor);
     }
 }
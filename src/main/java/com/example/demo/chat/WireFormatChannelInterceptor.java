@@ -0,0 +1,101 @@
+package com.example.demo.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 연결마다 메시지 본문 형식 선택
+ * - CONNECT 프레임에 x-wire-format: compact 헤더를 보낸 세션은 MESSAGE 본문을 CompactWireFormat 으로 받음
+ *   (content-type: application/vnd.linku.compact+json)
+ * - 헤더가 없거나 json 이면 지금처럼 일반 JSON
+ * - 방 브로드캐스트는 구독자마다 같은 본문을 공유하므로, 직전 변환 결과를 하나 기억해서 재사용
+ */
+@Component
+@Slf4j
+public class WireFormatChannelInterceptor implements ChannelInterceptor {
+
+    public static final String HEADER = "x-wire-format";
+    private static final String COMPACT = "compact";
+    private static final MimeType COMPACT_TYPE = MimeType.valueOf(CompactWireFormat.CONTENT_TYPE);
+
+    private final CompactWireFormat format;
+    private final Set<String> compactSessions = ConcurrentHashMap.newKeySet();
+    // 마지막으로 변환한 (원본 본문, 변환 결과)
+    private final AtomicReference<byte[][]> lastEncoded = new AtomicReference<>();
+
+    public WireFormatChannelInterceptor(ObjectMapper objectMapper) {
+        this.format = new CompactWireFormat(objectMapper);
+    }
+
+    // CONNECT 프레임: 이 세션의 형식 기억
+    @EventListener
+    public void onConnect(SessionConnectEvent event) {
+        StompHeaderAccessor stomp = StompHeaderAccessor.wrap(event.getMessage());
+        if (COMPACT.equalsIgnoreCase(stomp.getFirstNativeHeader(HEADER))) {
+            compactSessions.add(stomp.getSessionId());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        compactSessions.remove(event.getSessionId());
+    }
+
+    // 나가는 MESSAGE (clientOutboundChannel): compact 세션이고 본문이 JSON 이면 변환
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        if (compactSessions.isEmpty()
+                || SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE
+                || !compactSessions.contains(SimpMessageHeaderAccessor.getSessionId(headers))
+                || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+        Object contentType = headers.get(MessageHeaders.CONTENT_TYPE);
+        MimeType type = contentType instanceof MimeType m ? m
+                : contentType != null ? MimeType.valueOf(contentType.toString()) : null;
+        if (type == null || !MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(type)) {
+            return message;
+        }
+
+        byte[] compact;
+        try {
+            compact = encode(payload);
+        } catch (IOException e) {
+            log.debug("compact encoding skipped: {}", e.getMessage());
+            return message;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        accessor.setContentType(COMPACT_TYPE);
+        return MessageBuilder.createMessage(compact, accessor.getMessageHeaders());
+    }
+
+    private byte[] encode(byte[] payload) throws IOException {
+        byte[][] last = lastEncoded.get();
+        if (last != null && last[0] == payload) {
+            return last[1];
+        }
+        byte[] compact = format.encode(payload);
+        lastEncoded.set(new byte[][]{payload, compact});
+        return compact;
+    }
+}
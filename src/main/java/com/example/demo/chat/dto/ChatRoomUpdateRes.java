@@ -0,0 +1,19 @@
+package com.example.demo.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * /user/queue/rooms 로 나가는 "내 채팅방 목록 갱신" 알림
+ * - 다른 방에 새 메시지가 오면 /my-rooms 를 다시 부르지 않고 해당 방 항목만 바꾸면 됨
+ * - lastMessage 는 /my-rooms 의 ChatRoomListItem.LastMessage 와 같은 구조 (내용은 앞부분만)
+ */
+@Getter
+@AllArgsConstructor
+public class ChatRoomUpdateRes {
+
+    private Long roomId;
+    private Long senderId;
+    private ChatRoomListItem.LastMessage lastMessage;
+    private int unread;            // 이 방에서 내가 안 읽은 메시지 수 (새 메시지 포함)
+}
@@ -0,0 +1,24 @@
+package com.example.demo.chat.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * 재접속 후 밀린 메시지만 받아오기 요청
+ * - rooms: 방마다 마지막으로 받은 메시지 id (roomId → messageId)
+ * - since: rooms 에 없는 방은 이 id 이후만 (전체 high-water mark, 보통 이전 응답의 highWaterMark)
+ *   → 둘 다 없는 방은 메시지 없이 요약(안 읽은 수, 최신 id)만 내려줌
+ */
+@Getter
+@Setter
+public class ChatSyncReq {
+
+    private Map<Long, Long> rooms;
+
+    private Long since;
+
+    // 한 번에 받을 최대 메시지 수 (기본 200, 최대 500)
+    private Integer limit;
+}
@@ -0,0 +1,37 @@
+package com.example.demo.chat.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 밀린 메시지 응답 (변경이 있는 방만 포함)
+ * - truncated = true 면 limit 에 걸려 덜 받은 것 → 받은 값 기준으로 다시 요청
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatSyncRes {
+
+    private List<RoomDelta> rooms;
+    // 이번 응답에 들어간 가장 큰 메시지 id (since 로 요청했다면 다음 요청의 since, id 순으로 잘리므로 truncated 여도 안전)
+    private Long highWaterMark;
+    private boolean truncated;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RoomDelta {
+        private Long roomId;
+        // 기준 id 이후 메시지 (오래된 순)
+        private List<ChatMessageRes> messages;
+        // 이 방의 가장 최신 메시지 id
+        private Long latestMessageId;
+        // 내가 안 읽은 메시지 수
+        private int unread;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.chat.dto;
+
+import lombok.*;
+
+/**
+ * /app/chat.typing 로 보내는 입력 중 표시
+ * - typing=true: 입력 시작/계속, false: 입력 멈춤(전송, 지움 등)
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ChatTypingReq {
+    private Long roomId;
+    private boolean typing;
+}
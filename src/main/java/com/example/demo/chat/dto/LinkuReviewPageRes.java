@@ -0,0 +1,19 @@
+package com.example.demo.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 후기 목록 한 페이지 (최신순)
+ * - nextCursor 를 다음 요청의 ?cursor= 로 넘기면 이어서 조회
+ * - nextCursor 가 null 이면 마지막 페이지
+ */
+@Getter
+@AllArgsConstructor
+public class LinkuReviewPageRes {
+
+    private List<LinkuReviewRes> items;
+    private String nextCursor;
+}
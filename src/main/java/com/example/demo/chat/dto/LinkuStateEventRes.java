@@ -0,0 +1,20 @@
+package com.example.demo.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * /topic/linku.room.{roomId} 로 나가는 LinkU 상태 변경 알림
+ * - LinkuStateRes 와 같은 값이지만 방 전체에 보내므로 canReview 대신 reviewableBy 를 내려줌
+ *   → 프론트에서 canReview = (reviewableBy == 내 userId)
+ */
+@Getter
+@AllArgsConstructor
+public class LinkuStateEventRes {
+
+    private Long roomId;
+    private boolean linked;        // LinkU 수락 여부
+    private Long connectionId;     // LinkuConnection PK (LinkU 기록이 없으면 null)
+    private String status;         // PENDING / ACCEPTED (없으면 null)
+    private String reviewableBy;   // 지금 후기를 쓸 수 있는 사람의 userId (없으면 null)
+}
@@ -0,0 +1,19 @@
+package com.example.demo.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 방에 지금 접속(채팅방 구독) 중인 사람 목록
+ * - /app/presence.room.{roomId} 구독 시 1회 응답 (현재 상태)
+ * - 이후 누가 들어오거나 나가면 /topic/presence.room.{roomId} 로 전체 목록을 다시 보냄
+ */
+@Getter
+@AllArgsConstructor
+public class PresenceEventRes {
+
+    private Long roomId;
+    private List<Long> userIds;   // User PK
+}
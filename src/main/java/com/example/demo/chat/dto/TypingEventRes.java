@@ -0,0 +1,18 @@
+package com.example.demo.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * /topic/typing.room.{roomId} 로 나가는 입력 중 알림 (저장하지 않음)
+ * - 프론트는 userId 가 내 id 면 무시
+ * - typing=false 를 못 받는 경우(끊김 등)를 대비해 몇 초 뒤 자동으로 지우는 게 안전
+ */
+@Getter
+@AllArgsConstructor
+public class TypingEventRes {
+
+    private Long roomId;
+    private Long userId;     // 입력 중인 사람 (User PK)
+    private boolean typing;
+}
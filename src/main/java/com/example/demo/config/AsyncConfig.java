@@ -0,0 +1,116 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 백그라운드 작업용 스레드 풀 모음
+ * - Tomcat 요청 스레드와 분리해서, 작업별로 크기가 정해진 풀을 사용
+ * - 빈으로 등록되면 Spring 이 초기화(afterPropertiesSet)/종료를 맡으므로 initialize() 는 직접 호출하지 않음
+ */
+@Configuration
+public class AsyncConfig {
+
+    /** AI 일괄 재태깅 작업 (한 번에 하나만 실행) */
+    @Bean
+    public ThreadPoolTaskExecutor aiRetagExecutor() {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(1);
+        ex.setMaxPoolSize(1);
+        ex.setQueueCapacity(1);
+        ex.setThreadNamePrefix("ai-retag-");
+        ex.setWaitForTasksToCompleteOnShutdown(false);
+        return ex;
+    }
+
+    /**
+     * 업로드 이미지 디코딩/리사이즈 (CPU 작업)
+     * - 코어 수만큼만 동시에 처리, 큐가 차면 TaskRejectedException → 503
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imageProcessingExecutor() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(cores);
+        ex.setMaxPoolSize(cores);
+        ex.setQueueCapacity(32);
+        ex.setThreadNamePrefix("image-");
+        return ex;
+    }
+
+    /**
+     * 비밀번호 BCrypt 해시/비교 (CPU 작업)
+     * - 코어 수만큼만 동시에 계산, 대기열이 차면 바로 503 (PasswordHasher)
+     */
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${app.password.hash-queue-capacity:64}") int queueCapacity) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(cores);
+        ex.setMaxPoolSize(cores);
+        ex.setQueueCapacity(queueCapacity);
+        ex.setThreadNamePrefix("pw-hash-");
+        return ex;
+    }
+
+    /**
+     * 비밀번호 해시가 끝난 뒤의 DB 작업 (회원 저장, 재해시 결과 저장)
+     * - 해시 풀이 DB 커넥션을 기다리며 묶이지 않도록 분리 (DB 커넥션 풀보다 작게)
+     * - 큐가 차면 가입은 503, 재해시 저장은 건너뜀 (UserService)
+     */
+    @Bean
+    public ThreadPoolTaskExecutor userWriteExecutor() {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(4);
+        ex.setMaxPoolSize(4);
+        ex.setQueueCapacity(100);
+        ex.setThreadNamePrefix("user-write-");
+        return ex;
+    }
+
+    /**
+     * 회원 탈퇴 비동기 삭제 (DB 작업, 한 번에 하나씩)
+     */
+    @Bean
+    public ThreadPoolTaskExecutor accountDeletionExecutor() {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(1);
+        ex.setMaxPoolSize(1);
+        ex.setQueueCapacity(20);
+        ex.setThreadNamePrefix("account-delete-");
+        return ex;
+    }
+
+    /**
+     * outbox 메일 발송 (Gmail API 호출, I/O 대기 위주)
+     * - 큐가 차면 outbox 에 남겨두고 다음 poll 에서 다시 가져감
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mailSenderExecutor() {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(2);
+        ex.setMaxPoolSize(2);
+        ex.setQueueCapacity(100);
+        ex.setThreadNamePrefix("mail-");
+        return ex;
+    }
+
+    /**
+     * 커밋 후 부가 STOMP 알림 (받는 사람 목록 갱신 / LinkU 상태, DB 조회 포함)
+     * - 채팅 메시지 자체는 여기를 거치지 않음 (ChatEventDispatcher 가 커밋한 스레드에서 바로 전송)
+     * - 스레드 1개: 같은 방 LinkU 상태를 읽는 순서가 뒤바뀌지 않도록
+     * - 큐가 차면 부가 알림만 버림 (클라이언트는 REST 조회로 언제든 맞출 수 있음)
+     */
+    @Bean
+    public ThreadPoolTaskExecutor chatEventExecutor() {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(1);
+        ex.setMaxPoolSize(1);
+        ex.setQueueCapacity(1000);
+        ex.setThreadNamePrefix("chat-event-");
+        return ex;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * 외부 API(Gmail 등) 호출용 공용 HTTP 클라이언트
+ * - keep-alive 커넥션 풀 재사용 → 메일마다 TCP/TLS 연결을 새로 맺지 않음
+ * - 연결/응답/풀 대기 타임아웃 + 호스트별 최대 연결 수 제한
+ * - RestTemplateBuilder 로 만들어서 http.client.requests 메트릭이 자동 기록되고,
+ *   풀 상태는 httpcomponents.httpclient.pool.* 메트릭으로 노출
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager outboundConnectionManager(
+            @Value("${app.http.max-total:50}") int maxTotal,
+            @Value("${app.http.max-per-host:10}") int maxPerHost,
+            @Value("${app.http.connect-timeout-ms:3000}") long connectTimeoutMs,
+            @Value("${app.http.read-timeout-ms:10000}") long readTimeoutMs,
+            MeterRegistry meterRegistry
+    ) {
+        PoolingHttpClientConnectionManager cm = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerHost)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        // 오래 쉰 연결은 쓰기 전에 살아있는지 확인
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(cm, "outbound").bindTo(meterRegistry);
+        return cm;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient outboundHttpClient(
+            PoolingHttpClientConnectionManager outboundConnectionManager,
+            @Value("${app.http.pool-acquire-timeout-ms:2000}") long acquireTimeoutMs,
+            @Value("${app.http.idle-evict-seconds:30}") long idleEvictSeconds
+    ) {
+        return HttpClients.custom()
+                .setConnectionManager(outboundConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // 호스트별 연결이 모두 사용 중일 때 기다리는 최대 시간
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(acquireTimeoutMs))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictSeconds))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate outboundRestTemplate(RestTemplateBuilder builder,
+                                             CloseableHttpClient outboundHttpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(outboundHttpClient))
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.demo.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -7,14 +8,15 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
  * Spring Security의 PasswordEncoder 빈 등록
- * UserService 등에서 비밀번호 암호화에 사용됨
+ * UserService 등에서 비밀번호 암호화에 사용됨 (실행은 PasswordHasher 의 전용 스레드 풀에서)
  */
 @Configuration
 public class SecurityBeans {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
+    public PasswordEncoder passwordEncoder(@Value("${app.password.bcrypt-strength:10}") int strength) {
         // BCrypt는 강력한 단방향 해시 함수로, 로그인 비밀번호 비교에 사용됨
-        return new BCryptPasswordEncoder();
+        // strength(cost) 가 1 오를 때마다 해시 시간이 2배 → 벤치마크(src/jmh) 결과 보고 정함
+        return new BCryptPasswordEncoder(strength);
     }
 }
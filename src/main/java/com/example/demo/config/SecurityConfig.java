@@ -2,6 +2,7 @@
 package com.example.demo.config;
 
 import com.example.demo.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -37,8 +38,13 @@ public class SecurityConfig {
 
                 .authorizeHttpRequests(auth -> auth
 
+                        // 🔹 비동기 응답(CompletableFuture) 재디스패치는 이미 첫 요청에서 인가됨
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // 🔹 WebSocket 엔드포인트 허용
                         .requestMatchers("/ws/**").permitAll()
+                        // 🔹 순수 WebSocket 엔드포인트 (JWT 는 업그레이드 때 JwtHandshakeInterceptor 가 검사)
+                        .requestMatchers("/ws-native").permitAll()
 
                         // 🔹 인증 관련 공개 API
                         .requestMatchers("/api/auth/**").permitAll()
@@ -0,0 +1,51 @@
+// src/main/java/com/example/demo/controller/AiRetagController.java
+package com.example.demo.controller;
+
+import com.example.demo.dto.ai.AiRetagStatusResponse;
+import com.example.demo.service.AiRetagJobService;
+import com.example.demo.util.AdminUserValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 🔁 관리자용 AI 일괄 재태깅 API
+ *  - POST /start  : 체크포인트부터 시작/재개 (?restart=true 면 처음부터)
+ *  - POST /stop   : 현재 배치까지만 처리하고 중단
+ *  - GET  /status : 진행 상황 + 처리량/비용 카운터
+ */
+@RestController
+@RequestMapping("/api/admin/ai-retag")
+@RequiredArgsConstructor
+public class AiRetagController {
+
+    private final AiRetagJobService jobService;
+    private final AdminUserValidator adminUserValidator;
+
+    private boolean isAdmin() {
+        var a = SecurityContextHolder.getContext().getAuthentication();
+        String userId = (a == null || a.getPrincipal() == null) ? null : (String) a.getPrincipal();
+        return adminUserValidator.isAdmin(userId);
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<AiRetagStatusResponse> start(
+            @RequestParam(defaultValue = "false") boolean restart
+    ) {
+        if (!isAdmin()) return ResponseEntity.status(403).build();
+        return ResponseEntity.ok(jobService.start(restart));
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<AiRetagStatusResponse> stop() {
+        if (!isAdmin()) return ResponseEntity.status(403).build();
+        return ResponseEntity.ok(jobService.stop());
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<AiRetagStatusResponse> status() {
+        if (!isAdmin()) return ResponseEntity.status(403).build();
+        return ResponseEntity.ok(jobService.status());
+    }
+}
@@ -1,12 +1,15 @@
 // src/main/java/com/example/demo/controller/FileController.java
 package com.example.demo.controller;
 
+import com.example.demo.dto.ImageUploadResponse;
 import com.example.demo.service.FileStorageService;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 public class FileController {
 
@@ -18,14 +21,15 @@ public class FileController {
 
     /**
      * 로그인한 사용자가 사용하는 일반 업로드
+     * - 이미지 처리는 별도 스레드 풀에서 진행 (요청 스레드는 바로 반환, 비동기 응답)
      */
     @PostMapping(
             value = "/api/files/upload",
             consumes = MediaType.MULTIPART_FORM_DATA_VALUE
     )
-    public ResponseEntity<?> upload(@RequestPart("file") MultipartFile file) {
-        String url = storage.saveImage(file);  // Cloudinary URL
-        return ResponseEntity.ok(java.util.Map.of("url", url));
+    public CompletableFuture<ResponseEntity<ImageUploadResponse>> upload(@RequestPart("file") MultipartFile file) {
+        // url: Cloudinary URL 또는 /files/{hash}.{ext} + 썸네일 URL 들
+        return storage.saveImage(file).thenApply(ResponseEntity::ok);
     }
 
     /**
@@ -35,12 +39,11 @@ public class FileController {
             value = "/api/files/upload-public",
             consumes = MediaType.MULTIPART_FORM_DATA_VALUE
     )
-    public ResponseEntity<?> uploadPublic(@RequestPart("file") MultipartFile file) {
-        String url = storage.saveImage(file);  // Cloudinary URL
-        return ResponseEntity.ok(java.util.Map.of("url", url));
+    public CompletableFuture<ResponseEntity<ImageUploadResponse>> uploadPublic(@RequestPart("file") MultipartFile file) {
+        return storage.saveImage(file).thenApply(ResponseEntity::ok);
     }
 
-    // ✅ 이전의 GET /files/{filename} 엔드포인트는 더 이상 필요 없음.
-    //    새로 업로드되는 파일은 모두 Cloudinary URL을 사용하므로
-    //    백엔드에서 정적 이미지 파일을 서빙할 필요가 없다.
+    // ✅ GET /files/{filename} 은 로컬 저장소(app.storage.type=local)일 때만
+    //    storage.LocalFileController 가 서빙한다.
+    //    Cloudinary 저장소에서는 Cloudinary URL을 그대로 사용한다.
 }
@@ -1,15 +1,17 @@
 // src/main/java/com/example/demo/controller/MeController.java
 package com.example.demo.controller;
 
+import com.example.demo.dto.AccountDeletionStatusResponse;
 import com.example.demo.dto.MeResponse;
 import com.example.demo.dto.UpdateMeRequest;
 import com.example.demo.entity.User;
-import com.example.demo.repository.TalentPostRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.service.AccountDeletionService;
+import com.example.demo.service.FileStorageService;
+import com.example.demo.storage.StoredImage;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.format.DateTimeFormatter;
@@ -19,12 +21,15 @@ import java.time.format.DateTimeFormatter;
 public class MeController {
 
     private final UserRepository userRepository;
-    private final TalentPostRepository talentPostRepository;
+    private final FileStorageService fileStorageService;
+    private final AccountDeletionService accountDeletionService;
 
     public MeController(UserRepository userRepository,
-                        TalentPostRepository talentPostRepository) {
+                        FileStorageService fileStorageService,
+                        AccountDeletionService accountDeletionService) {
         this.userRepository = userRepository;
-        this.talentPostRepository = talentPostRepository;
+        this.fileStorageService = fileStorageService;
+        this.accountDeletionService = accountDeletionService;
     }
 
     private User currentUserOrThrow() {
@@ -57,7 +62,8 @@ public class MeController {
                         u.getEmail(),
                         u.getMajor(),
                         u.getProfileImageUrl(),
-                        createdAt
+                        createdAt,
+                        u.getProfileImageThumbUrl()
                 )
         );
     }
@@ -69,7 +75,14 @@ public class MeController {
 
         if (req.username() != null) u.setUsername(req.username().trim());
         if (req.major() != null) u.setMajor(req.major().trim());
-        if (req.profileImageUrl() != null) u.setProfileImageUrl(req.profileImageUrl().trim());
+        if (req.profileImageUrl() != null) {
+            String url = req.profileImageUrl().trim();
+            u.setProfileImageUrl(url);
+            // 업로드 API 로 올린 이미지면 아바타 썸네일도 같이 저장
+            u.setProfileImageThumbUrl(fileStorageService.findVariants(url)
+                    .map(StoredImage::getAvatarUrl)
+                    .orElse(null));
+        }
 
         User saved = userRepository.save(u);
         String createdAt = formatCreatedAt(saved);   // ✅
@@ -82,18 +95,36 @@ public class MeController {
                         saved.getEmail(),
                         saved.getMajor(),
                         saved.getProfileImageUrl(),
-                        createdAt
+                        createdAt,
+                        saved.getProfileImageThumbUrl()
                 )
         );
     }
 
-    /** 회원 탈퇴 (게시글 포함 삭제) */
+    /**
+     * 회원 탈퇴 (게시글/채팅/LinkU/즐겨찾기 등 내 데이터 전체 삭제)
+     * - async=true 면 백그라운드에서 삭제하고 202 + 진행 상태 반환 → GET /api/me/deletion 으로 확인
+     */
     @DeleteMapping
-    @Transactional
-    public ResponseEntity<?> delete() {
+    public ResponseEntity<?> delete(@RequestParam(defaultValue = "false") boolean async) {
         User u = currentUserOrThrow();
-        talentPostRepository.deleteAllByAuthor(u);
-        userRepository.delete(u);
+        if (async) {
+            return ResponseEntity.accepted()
+                    .body(accountDeletionService.deleteAsync(u.getId(), u.getUserId(), u.getEmail()));
+        }
+        accountDeletionService.deleteNow(u.getId(), u.getUserId(), u.getEmail());
         return ResponseEntity.ok(java.util.Map.of("message", "deleted"));
     }
+
+    /** 비동기 탈퇴 진행 상태 (회원 행이 지워진 뒤에도 토큰의 userId 로 조회) */
+    @GetMapping("/deletion")
+    public ResponseEntity<AccountDeletionStatusResponse> deletionStatus() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getPrincipal() == null) {
+            throw new IllegalArgumentException("인증 정보가 없습니다.");
+        }
+        return accountDeletionService.status((String) auth.getPrincipal())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
@@ -5,11 +5,14 @@ import com.example.demo.dto.*;
 import com.example.demo.security.JwtTokenProvider;
 import com.example.demo.service.UserService;
 import com.example.demo.service.VerificationService;
+import com.example.demo.verification.VerificationCode;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 🔹 회원 관련 REST API 컨트롤러
@@ -40,8 +43,9 @@ public class UserApiController {
      * - VerificationService 가 코드 생성 + 저장 + 메일 발송까지 처리
      */
     @PostMapping("/request-code")
-    public ResponseEntity<?> requestCode(@Valid @RequestBody RequestCodeRequest req) {
-        verificationService.requestCode(req.email());
+    public ResponseEntity<?> requestCode(@Valid @RequestBody RequestCodeRequest req,
+                                         HttpServletRequest request) {
+        verificationService.requestCode(req.email(), request.getRemoteAddr());
         return ResponseEntity.ok(Map.of("message", "인증코드를 발송했습니다."));
     }
 
@@ -52,18 +56,19 @@ public class UserApiController {
      *   → 프론트는 이 토큰을 저장해 이후 인증이 필요한 API 호출에 사용
      */
     @PostMapping("/verify-code")
-    public ResponseEntity<?> verifyAndSignup(@Valid @RequestBody VerifyCodeRequest req) {
-        // 1) 이메일 + 코드 검증 (만료/중복 여부 포함)
-        verificationService.verifyAndConsume(req.email(), req.code());
+    public CompletableFuture<ResponseEntity<?>> verifyAndSignup(@Valid @RequestBody VerifyCodeRequest req,
+                                                                HttpServletRequest request) {
+        // 1) 이메일 + 코드 검증 (만료/중복/실패 잠금 여부 포함, 사용처리는 회원 저장 때)
+        VerificationCode checked = verificationService.check(req.email(), req.code(), request.getRemoteAddr());
 
-        // 2) 검증된 이메일 기준으로 회원 생성
-        UserResponse created = userService.createUserAfterEmailVerified(
-                req.email(), req.username(), req.password(), req.major(), req.profileImageUrl()
-        );
-
-        // 3) 로그인 상태를 유지할 수 있도록 토큰 발급
-        String token = jwtTokenProvider.generateToken(created.userId());
-        return ResponseEntity.ok(Map.of("token", token, "user", created));
+        // 2) 검증된 이메일 기준으로 회원 생성 (비밀번호 해시는 전용 스레드 풀에서)
+        return userService.createUserAfterEmailVerified(
+                checked, req.username(), req.password(), req.major(), req.profileImageUrl()
+        ).thenApply(created -> {
+            // 3) 로그인 상태를 유지할 수 있도록 토큰 발급
+            String token = jwtTokenProvider.generateToken(created.userId());
+            return ResponseEntity.ok(Map.of("token", token, "user", created));
+        });
     }
 
     /**
@@ -72,10 +77,11 @@ public class UserApiController {
      * - 프론트는 이 토큰을 이후 Authorization 헤더에 실어서 보냄
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody UserLoginRequest req) {
-        var user = userService.login(req);
-        String token = jwtTokenProvider.generateToken(user.userId());
-        return ResponseEntity.ok(Map.of("token", token, "user", user));
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody UserLoginRequest req) {
+        return userService.login(req).thenApply(user -> {
+            String token = jwtTokenProvider.generateToken(user.userId());
+            return ResponseEntity.ok(Map.of("token", token, "user", user));
+        });
     }
 
     /**
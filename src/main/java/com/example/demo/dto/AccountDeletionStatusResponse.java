@@ -0,0 +1,12 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+public record AccountDeletionStatusResponse(
+        String status,          // RUNNING / DONE / FAILED
+        String step,            // 현재(마지막) 진행 단계
+        long deletedRows,       // 지금까지 삭제한 행 수
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String error
+) {}
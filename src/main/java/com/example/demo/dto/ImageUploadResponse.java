@@ -0,0 +1,9 @@
+package com.example.demo.dto;
+
+// 업로드 결과: 대표 URL + 크기별 썸네일 URL (이미지로 못 읽으면 모두 url 과 같음)
+public record ImageUploadResponse(
+        String url,
+        String detailUrl,
+        String cardUrl,
+        String avatarUrl
+) {}
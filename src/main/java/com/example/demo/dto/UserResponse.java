@@ -7,5 +7,6 @@ public record UserResponse(
         String email,
         String major,
         String profileImageUrl,
-        String createdAt
+        String createdAt,
+        String profileImageThumbUrl   // 아바타용 썸네일 (없으면 null)
 ) {}
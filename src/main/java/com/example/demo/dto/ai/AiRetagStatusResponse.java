@@ -0,0 +1,15 @@
+package com.example.demo.dto.ai;
+
+public record AiRetagStatusResponse(
+        String status,            // IDLE / RUNNING / STOPPED / DONE
+        Long lastPostId,
+        long postsProcessed,
+        long tagsApplied,
+        long requests,
+        long failures,
+        long pendingRetries,      // 다시 시도할 실패 글 수
+        long promptTokens,
+        long completionTokens,
+        double estimatedCostUsd,  // 토큰 단가 설정값 기준 추정 비용
+        double postsPerSecond     // 이번 실행 기준 처리량
+) {}
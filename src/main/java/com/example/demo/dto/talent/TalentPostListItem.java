@@ -17,7 +17,8 @@ public record TalentPostListItem(
         String authorName,
         // ▼ 추가
         String authorMajor,
-        String authorProfileImageUrl,
+        String authorProfileImageUrl,   // 목록에서는 아바타 썸네일 (없으면 원본)
+        String portfolioImageCardUrl,   // 카드용 대표 이미지 썸네일 (없으면 원본)
         Long views,
         LocalDateTime createdAt
 ) {}
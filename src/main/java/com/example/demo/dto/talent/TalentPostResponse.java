@@ -23,6 +23,9 @@ public record TalentPostResponse(
         // 🔹 여러 장 이미지
         List<String> portfolioImageUrls,
 
+        // 🔹 상세 화면용 크기 (portfolioImageUrls 와 같은 순서, 썸네일 없으면 원본)
+        List<String> portfolioImageDetailUrls,
+
         Integer price,
         String location,
 
@@ -31,6 +34,7 @@ public record TalentPostResponse(
         String authorName,
         String authorMajor,
         String authorProfileImageUrl,
+        String authorProfileThumbUrl,
 
         Long views,
         Long likesCount,
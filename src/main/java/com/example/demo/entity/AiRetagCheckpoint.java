@@ -0,0 +1,59 @@
+// com/example/demo/entity/AiRetagCheckpoint.java
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * AI 일괄 재태깅 작업의 진행 상황 (단일 행)
+ * - 서버가 재시작돼도 lastPostId 이후부터 이어서 진행
+ */
+@Entity
+@Table(name = "ai_retag_checkpoint")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AiRetagCheckpoint extends BaseTime {
+
+    /** 항상 1 하나만 사용 */
+    public static final Long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    // 마지막으로 처리 완료된 글 id (이 값 이후부터 다시 시작)
+    @Column(nullable = false)
+    private Long lastPostId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobStatus status;
+
+    // 누적 카운터 (재시작 후에도 이어서 집계)
+    @Column(nullable = false)
+    private long postsProcessed;
+
+    @Column(nullable = false)
+    private long tagsApplied;
+
+    @Column(nullable = false)
+    private long requests;
+
+    @Column(nullable = false)
+    private long failures;
+
+    @Column(nullable = false)
+    private long promptTokens;
+
+    @Column(nullable = false)
+    private long completionTokens;
+
+    public enum JobStatus {
+        IDLE,       // 한 번도 안 돌았거나 초기화됨
+        RUNNING,    // 진행 중 (재시작 시 자동 재개)
+        STOPPED,    // 관리자가 중단
+        DONE        // 끝까지 처리 완료
+    }
+}
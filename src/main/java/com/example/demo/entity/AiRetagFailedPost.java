@@ -0,0 +1,27 @@
+// com/example/demo/entity/AiRetagFailedPost.java
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * AI 일괄 재태깅에서 태그를 못 받은 글
+ * - 체크포인트는 지나가도 여기 남아 있어서, 본 작업이 끝나면 다시 시도
+ * - attempts 가 최대 횟수에 닿으면 더 시도하지 않고 기록만 남김
+ */
+@Entity
+@Table(name = "ai_retag_failed_post")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AiRetagFailedPost extends BaseTime {
+
+    @Id
+    private Long postId;
+
+    // 태그를 못 받은 횟수
+    @Column(nullable = false)
+    private int attempts;
+}
@@ -55,6 +55,10 @@ public class TalentPost extends BaseTime {
     @Column(length=300)
     private String portfolioImageUrl;
 
+    // ✅ 대표 이미지의 목록 카드용 썸네일 (없으면 null → 대표 이미지 사용)
+    @Column(length=300)
+    private String portfolioImageCardUrl;
+
     // ✅ 여러 장 이미지 URL 리스트
     @ElementCollection
     @CollectionTable(
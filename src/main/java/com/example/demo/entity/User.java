@@ -5,6 +5,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.Locale;
+
 @Entity
 @Table(name = "users")
 @Getter @Setter @NoArgsConstructor
@@ -32,5 +34,21 @@ public class User extends BaseTime {   // 🔹 BaseTime 상속 (createdAt, updat
     @Column(length = 255)
     private String profileImageUrl; // 프로필 이미지 URL (/files/xxx)
 
+    @Column(length = 300)
+    private String profileImageThumbUrl; // 아바타용 작은 썸네일 URL (없으면 null)
+
+    /** 로그인 조회가 대소문자 구분 없이 인덱스 한 번으로 끝나도록 이메일/userId 는 항상 소문자로 저장 */
+    @PrePersist
+    @PreUpdate
+    void normalizeLoginKeys() {
+        if (email != null) email = email.trim().toLowerCase(Locale.ROOT);
+        if (userId != null) userId = userId.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** 목록/채팅 등 작은 아바타 자리에 쓸 URL (썸네일이 없으면 원본) */
+    public String getProfileAvatarUrl() {
+        return profileImageThumbUrl != null ? profileImageThumbUrl : profileImageUrl;
+    }
+
     // ✅ 가입일은 BaseTime의 createdAt 필드를 그대로 사용 (별도 필드 필요 X)
 }
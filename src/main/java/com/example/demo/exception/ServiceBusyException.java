@@ -0,0 +1,11 @@
+package com.example.demo.exception;
+
+/**
+ * 서버가 바빠서 지금은 처리할 수 없는 요청 (동시 처리 한도 초과 등)
+ * - GlobalExceptionHandler 에서 503 으로 응답
+ */
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
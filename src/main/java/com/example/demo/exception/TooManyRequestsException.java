@@ -0,0 +1,19 @@
+package com.example.demo.exception;
+
+/**
+ * 너무 자주 들어온 요청 (인증코드 재발송 대기, 인증 시도 잠금 등)
+ * - GlobalExceptionHandler 에서 429 + Retry-After 로 응답
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
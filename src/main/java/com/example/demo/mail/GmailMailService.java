@@ -17,17 +17,26 @@ public class GmailMailService {
 
     private final GmailOAuthService oAuthService;
     private final String senderAddress;
-    private final RestTemplate rest = new RestTemplate();
+    private final String apiBaseUrl;
+    private final RestTemplate rest;   // 공용 커넥션 풀 (HttpClientConfig)
 
     public GmailMailService(
             GmailOAuthService oAuthService,
-            @Value("${gmail.sender.address}") String senderAddress
+            @Value("${gmail.sender.address}") String senderAddress,
+            @Value("${gmail.api.base-url:https://gmail.googleapis.com}") String apiBaseUrl,
+            RestTemplate outboundRestTemplate
     ) {
         this.oAuthService = oAuthService;
         this.senderAddress = senderAddress;
+        this.apiBaseUrl = apiBaseUrl;
+        this.rest = outboundRestTemplate;
     }
 
-    public void sendVerificationCode(String to, String code) {
+    /**
+     * @param idempotencyKey outbox 의 메일 키 → Message-ID 로 사용
+     *                       (재시도해도 Message-ID 는 같지만, Gmail API 가 이걸로 중복 발송을 막지는 않음)
+     */
+    public void sendVerificationCode(String to, String code, String idempotencyKey) {
         try {
             String subject = encodeSubject("이메일 인증코드");
             String text = """
@@ -37,11 +46,11 @@ public class GmailMailService {
                     인증코드: %s
                     """.formatted(code);
 
-            String mime = buildMime(to, subject, text);
+            String mime = buildMime(to, subject, text, idempotencyKey);
 
             String rawBase64Url = base64UrlEncode(mime.getBytes(StandardCharsets.UTF_8));
 
-            String url = "https://gmail.googleapis.com/gmail/v1/users/me/messages/send";
+            String url = apiBaseUrl + "/gmail/v1/users/me/messages/send";
             HttpHeaders headers = new HttpHeaders();
             headers.setBearerAuth(oAuthService.getAccessToken());
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -61,11 +70,13 @@ public class GmailMailService {
     /**
      * MIME: 반드시 CRLF(\r\n) 사용을 권장
      */
-    private String buildMime(String to, String subjectEncoded, String text) {
+    private String buildMime(String to, String subjectEncoded, String text, String idempotencyKey) {
         // From 헤더는 Gmail이 토큰 소유자 계정으로 대체하지만, 명시해두는 편이 가독성에 좋다
+        String domain = senderAddress.substring(senderAddress.indexOf('@') + 1);
         return "From: " + senderAddress + "\r\n" +
                 "To: " + to + "\r\n" +
                 "Subject: " + subjectEncoded + "\r\n" +
+                "Message-ID: <" + idempotencyKey.replace(':', '.') + "@" + domain + ">\r\n" +
                 "Content-Type: text/plain; charset=UTF-8\r\n" +
                 "MIME-Version: 1.0\r\n" +
                 "\r\n" +
@@ -1,70 +1,160 @@
 package com.example.demo.mail;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Gmail API 호출용 Access Token을 Refresh Token으로 교환해 받는다.
- * (간단히 매번 요청. 필요하면 캐시 로직 추가 가능)
+ * - 현재 토큰은 AtomicReference 에 보관 → 읽을 때 락 없음
+ * - 만료가 가까워지면 백그라운드(@Scheduled)에서 미리 갱신
+ * - 그래도 만료된 상태로 요청이 오면 갱신 HTTP 호출은 한 번만 하고 나머지는 그 결과를 기다림
+ * - 갱신 시간(gmail.oauth.refresh) / 실패 수(gmail.oauth.refresh.failures) 를 메트릭으로 기록
  */
 @Service
+@Slf4j
 public class GmailOAuthService {
 
-    private final RestTemplate rest = new RestTemplate();
+    // 이 시간 안에 만료되는 토큰은 쓰지 않음 (요청 도중 만료 방지)
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(30);
+
+    private final RestTemplate rest;   // 공용 커넥션 풀 (HttpClientConfig)
 
     private final String clientId;
     private final String clientSecret;
     private final String refreshToken;
+    private final String tokenUrl;
+    private final Duration refreshAhead;
+
+    private final AtomicReference<AccessToken> current = new AtomicReference<>();
+    // 진행 중인 갱신 (없으면 null) → 동시에 만료를 본 스레드들이 같은 결과를 공유
+    private final AtomicReference<CompletableFuture<AccessToken>> inFlight = new AtomicReference<>();
 
-    // (선택) 아주 단순 캐시
-    private volatile String cachedAccessToken;
-    private volatile Instant cachedExpiry = Instant.EPOCH;
+    private final Timer refreshTimer;
+    private final Counter refreshFailures;
 
     public GmailOAuthService(
             @Value("${gmail.oauth.client-id}") String clientId,
             @Value("${gmail.oauth.client-secret}") String clientSecret,
-            @Value("${gmail.oauth.refresh-token}") String refreshToken
+            @Value("${gmail.oauth.refresh-token}") String refreshToken,
+            @Value("${gmail.oauth.token-url:https://oauth2.googleapis.com/token}") String tokenUrl,
+            @Value("${gmail.oauth.refresh-ahead-seconds:300}") long refreshAheadSeconds,
+            RestTemplate outboundRestTemplate,
+            MeterRegistry meterRegistry
     ) {
+        this.rest = outboundRestTemplate;
         this.clientId = clientId;
         this.clientSecret = clientSecret;
         this.refreshToken = refreshToken;
+        this.tokenUrl = tokenUrl;
+        this.refreshAhead = Duration.ofSeconds(refreshAheadSeconds);
+        this.refreshTimer = Timer.builder("gmail.oauth.refresh")
+                .description("Gmail OAuth access token refresh latency")
+                .register(meterRegistry);
+        this.refreshFailures = Counter.builder("gmail.oauth.refresh.failures")
+                .description("Gmail OAuth access token refresh failures")
+                .register(meterRegistry);
     }
 
-    public synchronized String getAccessToken() {
-        if (cachedAccessToken != null && Instant.now().isBefore(cachedExpiry.minusSeconds(30))) {
-            return cachedAccessToken;
+    public String getAccessToken() {
+        AccessToken t = current.get();
+        if (t != null && t.validFor(EXPIRY_MARGIN)) {
+            return t.value();
         }
+        try {
+            return refreshSingleFlight().join().value();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
 
-        String url = "https://oauth2.googleapis.com/token";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-        MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
-        body.add("client_id", clientId);
-        body.add("client_secret", clientSecret);
-        body.add("refresh_token", refreshToken);
-        body.add("grant_type", "refresh_token");
-
-        HttpEntity<MultiValueMap<String, String>> req = new HttpEntity<>(body, headers);
-        var res = rest.postForEntity(url, req, TokenResponse.class);
+    /**
+     * 만료 refreshAhead 전부터 미리 갱신 → 메일 발송 스레드는 거의 항상 캐시된 토큰만 읽음
+     * - 한 번도 토큰을 쓴 적이 없으면 (메일을 안 보내는 환경) 아무것도 안 함
+     */
+    @Scheduled(fixedDelayString = "${gmail.oauth.refresh-check-ms:30000}")
+    public void refreshAheadOfExpiry() {
+        AccessToken t = current.get();
+        if (t == null || t.validFor(refreshAhead)) return;
+        try {
+            refreshSingleFlight().join();
+        } catch (CompletionException e) {
+            // 실패해도 기존 토큰은 만료 전까지 계속 사용, 다음 주기에 다시 시도
+            log.warn("Gmail OAuth 토큰 사전 갱신 실패: {}", e.getCause().getMessage());
+        }
+    }
 
-        if (!res.getStatusCode().is2xxSuccessful() || res.getBody() == null || res.getBody().access_token == null) {
-            throw new RuntimeException("Gmail OAuth 토큰 발급 실패: " + res.getStatusCode());
+    private CompletableFuture<AccessToken> refreshSingleFlight() {
+        CompletableFuture<AccessToken> mine = new CompletableFuture<>();
+        CompletableFuture<AccessToken> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) {
+            return running;
         }
+        try {
+            // 앞선 갱신이 막 끝났을 수 있으므로 한 번 더 확인
+            AccessToken t = current.get();
+            if (t == null || !t.validFor(refreshAhead)) {
+                t = fetchToken();
+                current.set(t);
+            }
+            mine.complete(t);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+        } finally {
+            inFlight.set(null);
+        }
+        return mine;
+    }
 
-        this.cachedAccessToken = res.getBody().access_token;
-        // expires_in 보통 3600
-        int expiresIn = res.getBody().expires_in != null ? res.getBody().expires_in : 3600;
-        this.cachedExpiry = Instant.now().plusSeconds(expiresIn);
+    private AccessToken fetchToken() {
+        long start = System.nanoTime();
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+            MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
+            body.add("client_id", clientId);
+            body.add("client_secret", clientSecret);
+            body.add("refresh_token", refreshToken);
+            body.add("grant_type", "refresh_token");
+
+            HttpEntity<MultiValueMap<String, String>> req = new HttpEntity<>(body, headers);
+            var res = rest.postForEntity(tokenUrl, req, TokenResponse.class);
+
+            if (!res.getStatusCode().is2xxSuccessful() || res.getBody() == null || res.getBody().access_token == null) {
+                throw new RuntimeException("Gmail OAuth 토큰 발급 실패: " + res.getStatusCode());
+            }
+
+            // expires_in 보통 3600
+            int expiresIn = res.getBody().expires_in != null ? res.getBody().expires_in : 3600;
+            return new AccessToken(res.getBody().access_token, Instant.now().plusSeconds(expiresIn));
+        } catch (RuntimeException e) {
+            refreshFailures.increment();
+            throw e;
+        } finally {
+            refreshTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
 
-        return this.cachedAccessToken;
+    private record AccessToken(String value, Instant expiresAt) {
+        boolean validFor(Duration margin) {
+            return Instant.now().isBefore(expiresAt.minus(margin));
+        }
     }
 
     private static class TokenResponse {
@@ -0,0 +1,6 @@
+package com.example.demo.mail;
+
+/**
+ * outbox 에 메일이 추가됨 (커밋 후 바로 발송을 시작하기 위한 신호)
+ */
+public record MailEnqueuedEvent(Long outboxId) {}
@@ -0,0 +1,67 @@
+package com.example.demo.mail;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * 발송 대기 메일 (outbox)
+ * - 인증코드 저장과 같은 트랜잭션에서 한 줄 추가 → 커밋되면 백그라운드 발송기가 가져감
+ * - idempotencyKey 가 unique 라서 같은 메일이 두 번 쌓이지 않음
+ * - 실패하면 attempts 를 올리고 nextAttemptAt 을 지수적으로 늦춰서 재시도
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(
+        name = "mail_outbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_mail_outbox_key", columnNames = "idempotencyKey"),
+        indexes = @Index(name = "idx_mail_outbox_due", columnList = "status,nextAttemptAt")
+)
+public class MailOutbox {
+
+    public enum Status { PENDING, SENDING, SENT, FAILED }
+
+    public enum Type { VERIFICATION_CODE }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 예: "verify:12345" (인증코드 발급 건 키 기준)
+    @Column(nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private Type type;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    // 메일 본문에 들어갈 값 (인증코드 등). SENT/FAILED 가 되면 빈 문자열로 지움
+    @Column(nullable = false, length = 500)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // 다음 발송 시도 시각 (PENDING) / 발송 중 점유 만료 시각 (SENDING)
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private Instant createdAt;
+
+    private Instant sentAt;
+}
@@ -0,0 +1,121 @@
+package com.example.demo.mail;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    // 지금 보낼 차례인 메일 id (PENDING 이거나, SENDING 인데 점유가 만료된 것)
+    @Query("""
+           select m.id from MailOutbox m
+            where (m.status = com.example.demo.mail.MailOutbox.Status.PENDING
+                   or m.status = com.example.demo.mail.MailOutbox.Status.SENDING)
+              and m.nextAttemptAt <= :now
+            order by m.nextAttemptAt asc
+           """)
+    List<Long> findDueIds(@Param("now") Instant now, Pageable pageable);
+
+    // 발송 점유: 조건부 update 라서 같은 메일을 두 스레드(또는 두 서버)가 동시에 가져가지 않음
+    // - lockedUntil 은 이 점유의 토큰으로도 씀 (결과 기록 시 claimToken 으로 비교)
+    @Modifying
+    @Transactional
+    @Query("""
+           update MailOutbox m
+              set m.status = com.example.demo.mail.MailOutbox.Status.SENDING,
+                  m.attempts = m.attempts + 1,
+                  m.nextAttemptAt = :lockedUntil
+            where m.id = :id
+              and (m.status = com.example.demo.mail.MailOutbox.Status.PENDING
+                   or m.status = com.example.demo.mail.MailOutbox.Status.SENDING)
+              and m.nextAttemptAt <= :now
+           """)
+    int claim(@Param("id") Long id,
+              @Param("now") Instant now,
+              @Param("lockedUntil") Instant lockedUntil);
+
+    // 아래 결과 기록(markSent/markFailed/markGaveUp/release)은 모두 claimToken(claim 때 넣은 lockedUntil)이
+    // 그대로일 때만 반영 → 점유가 만료돼 다른 poll 이 다시 가져간 뒤에 늦게 끝난 발송이 결과를 덮어쓰지 않음
+
+    // 발송 완료: 인증코드(payload)는 더 필요 없으므로 바로 지움
+    @Modifying
+    @Transactional
+    @Query("""
+           update MailOutbox m
+              set m.status = com.example.demo.mail.MailOutbox.Status.SENT,
+                  m.sentAt = :now,
+                  m.payload = '',
+                  m.lastError = null
+            where m.id = :id
+              and m.status = com.example.demo.mail.MailOutbox.Status.SENDING
+              and m.nextAttemptAt = :claimToken
+           """)
+    int markSent(@Param("id") Long id, @Param("claimToken") Instant claimToken, @Param("now") Instant now);
+
+    // 실패 기록: 다음 시도 시각을 잡아서 PENDING 으로 되돌림 (횟수 초과는 markGaveUp)
+    @Modifying
+    @Transactional
+    @Query("""
+           update MailOutbox m
+              set m.status = :status,
+                  m.nextAttemptAt = :nextAttemptAt,
+                  m.lastError = :error
+            where m.id = :id
+              and m.status = com.example.demo.mail.MailOutbox.Status.SENDING
+              and m.nextAttemptAt = :claimToken
+           """)
+    int markFailed(@Param("id") Long id,
+                   @Param("claimToken") Instant claimToken,
+                   @Param("status") MailOutbox.Status status,
+                   @Param("nextAttemptAt") Instant nextAttemptAt,
+                   @Param("error") String error);
+
+    // 횟수 초과로 포기: FAILED 로 남기되 payload 는 지움
+    @Modifying
+    @Transactional
+    @Query("""
+           update MailOutbox m
+              set m.status = com.example.demo.mail.MailOutbox.Status.FAILED,
+                  m.nextAttemptAt = :now,
+                  m.payload = '',
+                  m.lastError = :error
+            where m.id = :id
+              and m.status = com.example.demo.mail.MailOutbox.Status.SENDING
+              and m.nextAttemptAt = :claimToken
+           """)
+    int markGaveUp(@Param("id") Long id,
+                   @Param("claimToken") Instant claimToken,
+                   @Param("now") Instant now,
+                   @Param("error") String error);
+
+    // 보관 기간이 지난 끝난 메일(SENT/FAILED) 삭제
+    @Modifying
+    @Transactional
+    @Query("""
+           delete from MailOutbox m
+            where (m.status = com.example.demo.mail.MailOutbox.Status.SENT
+                   or m.status = com.example.demo.mail.MailOutbox.Status.FAILED)
+              and m.createdAt < :cutoff
+           """)
+    int deleteFinishedBefore(@Param("cutoff") Instant cutoff);
+
+    // 큐가 가득 차서 못 넘긴 메일: 시도 횟수는 되돌리고 바로 다시 대기
+    @Modifying
+    @Transactional
+    @Query("""
+           update MailOutbox m
+              set m.status = com.example.demo.mail.MailOutbox.Status.PENDING,
+                  m.attempts = m.attempts - 1,
+                  m.nextAttemptAt = :now
+            where m.id = :id
+              and m.status = com.example.demo.mail.MailOutbox.Status.SENDING
+              and m.nextAttemptAt = :claimToken
+           """)
+    int release(@Param("id") Long id, @Param("claimToken") Instant claimToken, @Param("now") Instant now);
+}
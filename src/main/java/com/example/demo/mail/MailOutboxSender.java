@@ -0,0 +1,170 @@
+package com.example.demo.mail;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * outbox 에 쌓인 메일을 백그라운드에서 발송
+ * - 커밋 직후 이벤트로 바로 발송 시도 + 주기적으로 밀린 메일/재시도 대상 확인
+ * - 발송은 mailSenderExecutor(크기 고정 풀)에서만 → Gmail 이 느려도 요청 스레드와 무관
+ * - 실패 시 base * 2^(시도-1) (+지터, 최대 backoffMax) 뒤에 다시 시도, maxAttempts 넘으면 FAILED
+ * - SENT/FAILED 가 되면 payload(인증코드)를 지우고, 보관 기간이 지나면 행 자체를 삭제
+ * - 결과(SENT/재시도/FAILED)는 자기 점유가 그대로일 때만 기록 (만료 후 다른 poll 이 가져갔으면 덮어쓰지 않음)
+ * - 최소 1회 발송: Gmail 응답을 못 받고(타임아웃 등) 재시도하면 같은 메일이 두 번 갈 수 있음
+ */
+@Component
+@Slf4j
+public class MailOutboxSender {
+
+    private final MailOutboxRepository repository;
+    private final GmailMailService mailService;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final long lockMs;
+    private final Duration retention;
+
+    public MailOutboxSender(MailOutboxRepository repository,
+                            GmailMailService mailService,
+                            @Qualifier("mailSenderExecutor") ThreadPoolTaskExecutor executor,
+                            @Value("${app.mail.outbox.batch-size:20}") int batchSize,
+                            @Value("${app.mail.outbox.max-attempts:6}") int maxAttempts,
+                            @Value("${app.mail.outbox.backoff-base-ms:2000}") long backoffBaseMs,
+                            @Value("${app.mail.outbox.backoff-max-ms:300000}") long backoffMaxMs,
+                            @Value("${app.mail.outbox.lock-ms:60000}") long lockMs,
+                            @Value("${app.mail.outbox.retention-days:7}") long retentionDays) {
+        this.repository = repository;
+        this.mailService = mailService;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.lockMs = lockMs;
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    /**
+     * 새 메일이 커밋되면 바로 발송 작업으로 넘김
+     * - 커밋 이후 단계라 여기서는 DB 를 건드리지 않고, 점유/발송은 작업 스레드에서 처리
+     * - 큐가 가득 차면 그냥 두고 다음 poll 에서 가져감
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEnqueued(MailEnqueuedEvent event) {
+        try {
+            executor.execute(() -> {
+                Instant now = Instant.now();
+                Instant claimToken = lockedUntil(now);
+                if (repository.claim(event.outboxId(), now, claimToken) == 1) {
+                    send(event.outboxId(), claimToken);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.debug("mail queue full, outbox {} left for poll", event.outboxId());
+        }
+    }
+
+    /**
+     * 보낼 차례인 메일 (재시도 대상, 이벤트를 놓친 것, 서버가 죽어서 점유가 풀린 것) 처리
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        Instant now = Instant.now();
+        Instant claimToken = lockedUntil(now);
+        List<Long> ids = repository.findDueIds(now, PageRequest.of(0, batchSize));
+        for (Long id : ids) {
+            if (repository.claim(id, now, claimToken) == 0) continue; // 다른 스레드가 가져감
+            try {
+                executor.execute(() -> send(id, claimToken));
+            } catch (TaskRejectedException e) {
+                // 풀이 바쁘면 점유를 풀고 다음 poll 로 미룸
+                repository.release(id, claimToken, now);
+                break;
+            }
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 SENT/FAILED 메일 삭제 (하루 한 번)
+     */
+    @Scheduled(cron = "${app.mail.outbox.purge-cron:0 30 4 * * *}")
+    public void purgeFinished() {
+        int deleted = repository.deleteFinishedBefore(Instant.now().minus(retention));
+        if (deleted > 0) {
+            log.info("purged {} finished outbox mails", deleted);
+        }
+    }
+
+    /**
+     * @param claimToken claim 때 넣은 lockedUntil. 결과는 점유가 그대로일 때만 기록되고,
+     *                   점유가 만료돼 다른 poll 이 다시 가져갔으면 기록하지 않고 로그만 남김
+     */
+    private void send(Long id, Instant claimToken) {
+        MailOutbox m = repository.findById(id).orElse(null);
+        // 큐에서 기다리는 사이 점유가 만료돼 다른 poll 이 가져갔으면 보내지 않음
+        if (m == null || m.getStatus() != MailOutbox.Status.SENDING
+                || !claimToken.equals(m.getNextAttemptAt())) {
+            return;
+        }
+
+        try {
+            switch (m.getType()) {
+                case VERIFICATION_CODE ->
+                        mailService.sendVerificationCode(m.getRecipient(), m.getPayload(), m.getIdempotencyKey());
+            }
+            if (repository.markSent(id, claimToken, Instant.now()) == 0) {
+                log.warn("mail {} sent after its claim expired, result not recorded", m.getIdempotencyKey());
+            }
+        } catch (Exception e) {
+            // claim 에서 attempts 를 이미 올렸으므로 m.getAttempts() 가 이번 시도 횟수
+            int attempts = m.getAttempts();
+            String error = truncate(e.getMessage(), 500);
+            int updated;
+            if (attempts >= maxAttempts) {
+                updated = repository.markGaveUp(id, claimToken, Instant.now(), error);
+                log.error("mail {} failed after {} attempts: {}", m.getIdempotencyKey(), attempts, error);
+            } else {
+                Instant next = Instant.now().plusMillis(backoffDelayMs(attempts));
+                updated = repository.markFailed(id, claimToken, MailOutbox.Status.PENDING, next, error);
+                log.warn("mail {} attempt {} failed, retry at {}: {}", m.getIdempotencyKey(), attempts, next, error);
+            }
+            if (updated == 0) {
+                log.warn("mail {} failed after its claim expired, result not recorded", m.getIdempotencyKey());
+            }
+        }
+    }
+
+    // 점유 만료 시각 = 점유 토큰. DB 컬럼 정밀도(초/마이크로초)와 상관없이 그대로 비교되도록 초 단위로 자름
+    private Instant lockedUntil(Instant now) {
+        return now.plusMillis(lockMs).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    // base * 2^(attempts-1) 를 backoffMax 로 자르고, 0~50% 지터 추가 (동시에 실패한 메일이 한꺼번에 몰리지 않게)
+    long backoffDelayMs(int attempts) {
+        long exp = backoffBaseMs << Math.min(Math.max(attempts - 1, 0), 20);
+        long delay = Math.min(exp, backoffMaxMs);
+        return delay + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    private static String truncate(String s, int max) {
+        if (s == null) return null;
+        return s.length() <= max ? s : s.substring(0, max);
+    }
+}
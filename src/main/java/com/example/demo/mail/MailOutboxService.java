@@ -0,0 +1,45 @@
+package com.example.demo.mail;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * 메일 발송 요청을 outbox 테이블에 쌓는 서비스
+ * - 호출한 쪽의 트랜잭션 안에서 저장 → 인증코드와 메일 요청이 같이 커밋/롤백됨
+ * - 실제 발송은 MailOutboxSender 가 커밋 이후 백그라운드에서 처리
+ */
+@Service
+@RequiredArgsConstructor
+public class MailOutboxService {
+
+    private final MailOutboxRepository repository;
+    private final ApplicationEventPublisher events;
+
+    /**
+     * 인증코드 메일 요청
+     *
+     * @param verificationKey 인증코드 발급 건 키 (idempotency key 로 사용)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueVerificationCode(String verificationKey, String email, String code) {
+        Instant now = Instant.now();
+        MailOutbox saved = repository.save(MailOutbox.builder()
+                .idempotencyKey("verify:" + verificationKey)
+                .type(MailOutbox.Type.VERIFICATION_CODE)
+                .recipient(email)
+                .payload(code)
+                .status(MailOutbox.Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+
+        // @TransactionalEventListener(AFTER_COMMIT) 로 받으므로 커밋된 뒤에만 발송 시작
+        events.publishEvent(new MailEnqueuedEvent(saved.getId()));
+    }
+}
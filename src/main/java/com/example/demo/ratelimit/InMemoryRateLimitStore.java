@@ -0,0 +1,114 @@
+package com.example.demo.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메모리 슬라이딩 윈도우 카운터 + 잠금
+ * - key 마다 (이전 구간 횟수, 현재 구간 횟수) 를 불변 객체로 두고 ConcurrentHashMap.compute 로 교체
+ *   (같은 key 끼리만 잠깐 겹치고, 정리 작업과 동시에 들어온 기록도 빠지지 않음)
+ * - 추정치 = 이전 구간 × (이전 구간이 윈도우에 걸친 비율) + 현재 구간
+ *   → key 당 메모리가 요청 수와 무관하게 고정
+ * - 잠금은 추정치와 별개로 만료 시각을 그대로 저장 (정해진 시간 동안 정확히 유지)
+ * - 두 구간 넘게 안 쓰인 key / 만료된 잠금은 주기적으로 제거
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+    // key → 잠금 만료 시각 (epoch ms)
+    private final ConcurrentHashMap<String, Long> locks = new ConcurrentHashMap<>();
+
+    @Override
+    public long hit(String key, Duration window) {
+        long windowMs = window.toMillis();
+        long now = System.currentTimeMillis();
+        Window next = windows.compute(key,
+                (k, cur) -> (cur == null ? Window.EMPTY : cur).rollTo(now, windowMs).plusOne());
+        return next.estimate(now);
+    }
+
+    @Override
+    public long count(String key, Duration window) {
+        Window w = windows.get(key);
+        if (w == null) return 0;
+        long now = System.currentTimeMillis();
+        return w.rollTo(now, window.toMillis()).estimate(now);
+    }
+
+    @Override
+    public void reset(String key) {
+        windows.remove(key);
+    }
+
+    @Override
+    public void lock(String key, Duration duration) {
+        locks.merge(key, System.currentTimeMillis() + duration.toMillis(), Math::max);
+    }
+
+    @Override
+    public Duration lockRemaining(String key) {
+        Long until = locks.get(key);
+        if (until == null) return Duration.ZERO;
+        long left = until - System.currentTimeMillis();
+        if (left <= 0) {
+            locks.remove(key, until);
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(left);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        // remove(key, 본 값) → 그 사이 hit/lock 으로 값이 바뀌었으면 지우지 않음
+        windows.forEach((key, w) -> {
+            if (w.isIdle(now)) windows.remove(key, w);
+        });
+        locks.forEach((key, until) -> {
+            if (until <= now) locks.remove(key, until);
+        });
+    }
+
+    int size() {
+        return windows.size();
+    }
+
+    /**
+     * @param start    현재 구간 시작 시각 (windowMs 단위로 정렬)
+     * @param previous 직전 구간 횟수
+     * @param current  현재 구간 횟수
+     */
+    private record Window(long start, long windowMs, long previous, long current) {
+
+        static final Window EMPTY = new Window(0, 1, 0, 0);
+
+        Window rollTo(long now, long windowMs) {
+            long bucket = now - (now % windowMs);
+            if (bucket == start && windowMs == this.windowMs) return this;
+            if (bucket == start + windowMs && windowMs == this.windowMs) {
+                return new Window(bucket, windowMs, current, 0);
+            }
+            return new Window(bucket, windowMs, 0, 0);
+        }
+
+        Window plusOne() {
+            return new Window(start, windowMs, previous, current + 1);
+        }
+
+        long estimate(long now) {
+            long elapsed = now - start;
+            double previousWeight = (double) (windowMs - elapsed) / windowMs;
+            return (long) (previous * previousWeight) + current;
+        }
+
+        boolean isIdle(long now) {
+            return now - start >= 2 * windowMs;
+        }
+    }
+}
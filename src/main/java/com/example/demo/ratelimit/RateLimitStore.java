@@ -0,0 +1,39 @@
+package com.example.demo.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * 슬라이딩 윈도우 카운터 + 잠금 저장소
+ * - 기본은 서버 메모리 (InMemoryRateLimitStore)
+ * - 여러 서버로 늘리면 같은 인터페이스로 공용 저장소(Redis 등) 구현을 만들어
+ *   app.rate-limit.store 값으로 바꿔 끼우면 됨
+ * - 같은 key 는 항상 같은 window 로 호출해야 함
+ */
+public interface RateLimitStore {
+
+    /**
+     * 1회 기록하고, 기록 후 최근 window 동안의 (추정) 횟수를 반환
+     */
+    long hit(String key, Duration window);
+
+    /**
+     * 기록하지 않고 최근 window 동안의 (추정) 횟수만 반환
+     */
+    long count(String key, Duration window);
+
+    /**
+     * 카운터 초기화 (예: 인증 성공 시 실패 횟수 지우기)
+     */
+    void reset(String key);
+
+    /**
+     * key 를 duration 동안 잠금 (이미 더 길게 잠겨 있으면 그대로)
+     * - 카운터 추정치와 달리 만료 시각까지 정확히 유지됨
+     */
+    void lock(String key, Duration duration);
+
+    /**
+     * 남은 잠금 시간 (잠겨 있지 않으면 Duration.ZERO)
+     */
+    Duration lockRemaining(String key);
+}
@@ -0,0 +1,8 @@
+// com.example.demo.repository.AiRetagCheckpointRepository.java
+package com.example.demo.repository;
+
+import com.example.demo.entity.AiRetagCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AiRetagCheckpointRepository extends JpaRepository<AiRetagCheckpoint, Long> {
+}
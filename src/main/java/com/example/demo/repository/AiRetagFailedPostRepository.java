@@ -0,0 +1,25 @@
+// com.example.demo.repository.AiRetagFailedPostRepository.java
+package com.example.demo.repository;
+
+import com.example.demo.entity.AiRetagFailedPost;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AiRetagFailedPostRepository extends JpaRepository<AiRetagFailedPost, Long> {
+
+    /** 아직 다시 시도할 수 있는 글 id (id 순) */
+    @Query("select f.postId from AiRetagFailedPost f where f.attempts < :maxAttempts order by f.postId")
+    List<Long> findRetryableIds(@Param("maxAttempts") int maxAttempts, Pageable pageable);
+
+    long countByAttemptsLessThan(int maxAttempts);
+
+    @Modifying
+    @Query("delete from AiRetagFailedPost f where f.postId in :ids")
+    int deleteByPostIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -15,6 +15,9 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
 
     Optional<Tag> findByCategoryAndNameIgnoreCase(String category, String name);
 
+    // 카테고리 안의 모든 태그 (활성/비활성 포함) – 일괄 생성/복구용
+    List<Tag> findByCategory(String category);
+
     // 🔥 활성 태그가 사용하고 있는 카테고리 목록 (중복 제거)
     @Query("select distinct t.category from Tag t where t.active = true order by t.category asc")
     List<String> findDistinctActiveCategories();
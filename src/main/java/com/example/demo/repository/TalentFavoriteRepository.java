@@ -8,6 +8,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 
 public interface TalentFavoriteRepository extends JpaRepository<TalentFavorite, Long> {
 
@@ -19,4 +23,14 @@ public interface TalentFavoriteRepository extends JpaRepository<TalentFavorite,
 
     /** ⭐ 특정 유저의 즐겨찾기 목록 (페이지네이션) */
     Page<TalentFavorite> findByUser(User user, Pageable pageable);
+
+    // ===================== 회원 탈퇴용 (bulk delete) =====================
+
+    @Modifying
+    @Query("delete from TalentFavorite f where f.post.id in :postIds")
+    int bulkDeleteByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("delete from TalentFavorite f where f.user.id = :userId")
+    int bulkDeleteByUserId(@Param("userId") Long userId);
 }
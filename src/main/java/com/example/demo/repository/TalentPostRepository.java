@@ -2,10 +2,49 @@
 package com.example.demo.repository;
 
 import com.example.demo.entity.TalentPost;
-import com.example.demo.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.Modifying;
 
 public interface TalentPostRepository extends JpaRepository<TalentPost, Long>, JpaSpecificationExecutor<TalentPost> {
-    void deleteAllByAuthor(User author); // ✅ 추가: 작성자 기준 전체 삭제
+
+    /** 🔁 id 커서 기반 페이징: lastId 이후의 (삭제 안 된) 글 id 들 */
+    @Query("""
+            select p.id
+            from TalentPost p
+            where p.id > :lastId
+              and p.status <> com.example.demo.entity.TalentStatus.DELETED
+            order by p.id asc
+            """)
+    List<Long> findIdsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    /** 작성자 + 태그까지 한 번에 가져오기 (id 목록 기준) */
+    @Query("""
+            select distinct p
+            from TalentPost p
+            join fetch p.author
+            left join fetch p.tags
+            where p.id in :ids
+            """)
+    List<TalentPost> findAllWithTagsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ===================== 회원 탈퇴용 =====================
+
+    @Query("select p.id from TalentPost p where p.author.id = :authorId order by p.id")
+    List<Long> findIdsByAuthorId(@Param("authorId") Long authorId);
+
+    // 태그 연결 / 이미지 목록 테이블은 엔티티가 없으므로 네이티브 쿼리로 한 번에 삭제
+    @Modifying
+    @Query(value = "delete from talent_post_tags where post_id in (:postIds)", nativeQuery = true)
+    int bulkDeleteTagLinks(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query(value = "delete from talent_post_images where post_id in (:postIds)", nativeQuery = true)
+    int bulkDeleteImages(@Param("postIds") Collection<Long> postIds);
 }
@@ -1,8 +1,14 @@
 package com.example.demo.repository;
 
 import com.example.demo.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -11,4 +17,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByUserId(String userId);
     boolean existsByEmail(String email);
+
+    // userId 자동 생성: 같은 접두어로 시작하는 userId 를 한 번에 조회
+    // (userId 의 '_' 는 LIKE 에서 아무 글자와 일치하지만, 더 가져온 값은 메모리에서 걸러지므로 무해)
+    @Query("select u.userId from User u where u.userId like concat(:prefix, '%')")
+    List<String> findUserIdsStartingWith(@Param("prefix") String prefix);
+
+    // 로그인 시 재해시: 그 사이 비밀번호가 바뀌지 않았을 때만 교체
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :newHash where u.id = :id and u.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id,
+                           @Param("oldHash") String oldHash,
+                           @Param("newHash") String newHash);
+
+    // 전체 회원을 id 순으로 나눠서 훑을 때 (집계 재계산 등)
+    @Query("select u.id from User u where u.id > :afterId order by u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -40,7 +40,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String uri = request.getRequestURI();
         String method = request.getMethod();
 
-        // 1) WebSocket(SockJS) 엔드포인트 → JWT 필터 적용 금지
+        // 1) WebSocket 엔드포인트(/ws SockJS, /ws-native) → JWT 필터 적용 금지
+        //    (/ws 는 STOMP CONNECT 에서, /ws-native 는 JwtHandshakeInterceptor 에서 인증)
         if (uri.startsWith("/ws")) {
             return true;
         }
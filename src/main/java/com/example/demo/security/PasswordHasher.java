@@ -0,0 +1,64 @@
+package com.example.demo.security;
+
+import com.example.demo.exception.ServiceBusyException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 비밀번호 해시/비교 (BCrypt)
+ * - CPU 를 많이 쓰는 작업이라 Tomcat 요청 스레드가 아니라 passwordHashExecutor(코어 수 크기)에서 실행
+ * - 대기열이 가득 차면 기다리지 않고 바로 503 (로그인 폭주 때 다른 API 까지 느려지지 않게)
+ * - 저장된 해시의 cost 가 설정값(app.password.bcrypt-strength)과 다르면 needsRehash → 로그인 시 다시 해시
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final int strength;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor executor,
+                          @Value("${app.password.bcrypt-strength:10}") int strength) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.strength = strength;
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 저장된 해시의 cost 가 지금 설정과 다른지 ("$2a$10$..." 의 10 부분)
+     * - BCrypt 형식이 아니면 건드리지 않음
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null || !encodedPassword.startsWith("$2")) return false;
+        int costStart = encodedPassword.indexOf('$', 1) + 1;
+        if (costStart <= 0 || encodedPassword.length() < costStart + 2) return false;
+        try {
+            return Integer.parseInt(encodedPassword.substring(costStart, costStart + 2)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(java.util.function.Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceBusyException("로그인 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+}
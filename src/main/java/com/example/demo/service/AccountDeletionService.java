@@ -0,0 +1,245 @@
+// 회원 탈퇴 시 그 회원의 모든 데이터를 한꺼번에 지우는 서비스
+package com.example.demo.service;
+
+import com.example.demo.chat.*;
+import com.example.demo.dto.AccountDeletionStatusResponse;
+import com.example.demo.exception.ServiceBusyException;
+import com.example.demo.repository.TalentFavoriteRepository;
+import com.example.demo.repository.TalentPostRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.verification.EmailVerificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 🗑 회원 탈퇴
+ *  - 엔티티를 하나씩 읽어서 지우지 않고, bulk DELETE 문으로 한 번에 삭제
+ *  - FK 순서대로: 리뷰 → LinkU 연결 → 메시지/나가기 기록 → 채팅방
+ *                → 즐겨찾기/태그 연결/이미지 목록 → 게시글 → 인증 기록 → 회원
+ *  - 지워진 LinkU/리뷰의 상대방 집계(user_linku_stats)는 마지막에 다시 계산
+ *  - 방/게시글은 chunkSize 개씩, 메시지는 chunkSize 개 id 씩 끊어서 각각 짧은 트랜잭션으로 처리
+ *  - 비동기 실행 시 진행 상태를 메모리에 보관 (userId 기준, 서버 재시작 시 사라짐)
+ */
+@Service
+@Slf4j
+public class AccountDeletionService {
+
+    public enum State { RUNNING, DONE, FAILED }
+
+    private final UserRepository userRepo;
+    private final TalentPostRepository postRepo;
+    private final TalentFavoriteRepository favoriteRepo;
+    private final ChatRoomRepository roomRepo;
+    private final ChatMessageRepository messageRepo;
+    private final ChatRoomExitRepository exitRepo;
+    private final LinkuConnectionRepository connectionRepo;
+    private final LinkuReviewRepository reviewRepo;
+    private final EmailVerificationRepository verificationRepo;
+    private final LinkuStatsService statsService;
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
+
+    // userId → 진행 상태 (비동기 실행용)
+    private final ConcurrentHashMap<String, Progress> jobs = new ConcurrentHashMap<>();
+
+    public AccountDeletionService(UserRepository userRepo,
+                                  TalentPostRepository postRepo,
+                                  TalentFavoriteRepository favoriteRepo,
+                                  ChatRoomRepository roomRepo,
+                                  ChatMessageRepository messageRepo,
+                                  ChatRoomExitRepository exitRepo,
+                                  LinkuConnectionRepository connectionRepo,
+                                  LinkuReviewRepository reviewRepo,
+                                  EmailVerificationRepository verificationRepo,
+                                  LinkuStatsService statsService,
+                                  @Qualifier("accountDeletionExecutor") ThreadPoolTaskExecutor executor,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.account-deletion.chunk-size:500}") int chunkSize) {
+        this.userRepo = userRepo;
+        this.postRepo = postRepo;
+        this.favoriteRepo = favoriteRepo;
+        this.roomRepo = roomRepo;
+        this.messageRepo = messageRepo;
+        this.exitRepo = exitRepo;
+        this.connectionRepo = connectionRepo;
+        this.reviewRepo = reviewRepo;
+        this.verificationRepo = verificationRepo;
+        this.statsService = statsService;
+        this.executor = executor;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 지금 요청 스레드에서 바로 삭제 (끝나면 반환)
+     * - 이미 진행 중이면(비동기 포함) 같이 지우지 않고 그 상태를 그대로 반환
+     */
+    public AccountDeletionStatusResponse deleteNow(Long id, String userId, String email) {
+        Progress p = new Progress();
+        Progress running = jobs.compute(userId, (k, old) ->
+                old != null && old.state == State.RUNNING ? old : p);
+        if (running != p) {
+            return running.toResponse();
+        }
+        run(p, id, email);
+        return p.toResponse();
+    }
+
+    /**
+     * 백그라운드에서 삭제 시작 (이미 진행 중이면 그 상태를 그대로 반환)
+     */
+    public AccountDeletionStatusResponse deleteAsync(Long id, String userId, String email) {
+        Progress p = new Progress();
+        Progress running = jobs.compute(userId, (k, old) ->
+                old != null && old.state == State.RUNNING ? old : p);
+        if (running != p) {
+            return running.toResponse();
+        }
+        try {
+            executor.execute(() -> run(p, id, email));
+        } catch (TaskRejectedException e) {
+            jobs.remove(userId, p);
+            throw new ServiceBusyException("탈퇴 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        return p.toResponse();
+    }
+
+    public Optional<AccountDeletionStatusResponse> status(String userId) {
+        return Optional.ofNullable(jobs.get(userId)).map(Progress::toResponse);
+    }
+
+    // 끝난 지 한 시간 넘은 상태 기록은 정리
+    @Scheduled(fixedDelay = 600_000)
+    public void evictFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(1);
+        jobs.values().removeIf(p -> p.finishedAt != null && p.finishedAt.isBefore(cutoff));
+    }
+
+    private void run(Progress p, Long uid, String email) {
+        try {
+            // 0) 함께 지워질 ACCEPTED LinkU 의 상대방 (집계 재계산 대상)
+            Set<Long> partners = new HashSet<>();
+            for (LinkuConnectionRepository.Pair pair : connectionRepo.findAcceptedPairsAffectedByUser(uid)) {
+                partners.add(pair.getRequesterId());
+                partners.add(pair.getTargetId());
+            }
+            partners.remove(uid);
+
+            // 1) 내가 참여한 채팅방과 그 안의 LinkU/리뷰/메시지/나가기 기록
+            List<Long> roomIds = roomRepo.findIdsByParticipant(uid);
+            for (List<Long> chunk : chunks(roomIds)) {
+                p.step("chat_rooms");
+                p.add(tx(() -> reviewRepo.bulkDeleteByRoomIdIn(chunk)
+                        + connectionRepo.bulkDeleteByRoomIdIn(chunk)));
+                deleteMessages(p, chunk);
+                p.add(tx(() -> exitRepo.bulkDeleteByRoomIdIn(chunk)));
+                p.add(tx(() -> { roomRepo.deleteAllByIdInBatch(chunk); return chunk.size(); }));
+            }
+
+            // 2) 방과 상관없이 나를 가리키는 LinkU / 리뷰 / 나가기 기록
+            p.step("linku");
+            p.add(tx(() -> reviewRepo.bulkDeleteByUserId(uid)
+                    + connectionRepo.bulkDeleteByUserId(uid)
+                    + exitRepo.bulkDeleteByUserId(uid)));
+
+            // 3) 내 게시글과 거기에 달린 즐겨찾기 / LinkU / 태그 연결 / 이미지 목록
+            List<Long> postIds = postRepo.findIdsByAuthorId(uid);
+            for (List<Long> chunk : chunks(postIds)) {
+                p.step("talent_posts");
+                p.add(tx(() -> reviewRepo.bulkDeleteByPostIdIn(chunk)
+                        + connectionRepo.bulkDeleteByPostIdIn(chunk)
+                        + favoriteRepo.bulkDeleteByPostIdIn(chunk)
+                        + postRepo.bulkDeleteTagLinks(chunk)
+                        + postRepo.bulkDeleteImages(chunk)));
+                p.add(tx(() -> { postRepo.deleteAllByIdInBatch(chunk); return chunk.size(); }));
+            }
+
+            // 4) 내가 누른 즐겨찾기, 인증 기록, 회원
+            p.step("user");
+            p.add(tx(() -> favoriteRepo.bulkDeleteByUserId(uid)
+                    + verificationRepo.bulkDeleteByEmail(email)
+                    + statsService.delete(uid)));
+            p.add(tx(() -> { userRepo.deleteAllByIdInBatch(List.of(uid)); return 1; }));
+
+            // 5) 상대방 별점/협업 집계 다시 계산
+            p.step("linku_stats");
+            for (List<Long> chunk : chunks(new ArrayList<>(partners))) {
+                tx(() -> { statsService.rebuild(chunk); return 0; });
+            }
+
+            p.finish(State.DONE, null);
+            log.info("account {} deleted ({} rows)", uid, p.deletedRows.get());
+        } catch (RuntimeException e) {
+            // 이미 지운 chunk 는 그대로 두고, 다시 요청하면 남은 것부터 이어서 삭제됨
+            p.finish(State.FAILED, e.getMessage());
+            log.error("account {} deletion failed at {}", uid, p.step, e);
+            throw e;
+        }
+    }
+
+    // 메시지는 방 하나에도 많을 수 있으므로 id 를 chunkSize 개씩 가져와서 삭제
+    private void deleteMessages(Progress p, List<Long> roomIds) {
+        while (true) {
+            List<Long> ids = messageRepo.findIdsByRoomIdIn(roomIds, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) return;
+            p.add(tx(() -> { messageRepo.deleteAllByIdInBatch(ids); return ids.size(); }));
+            if (ids.size() < chunkSize) return;
+        }
+    }
+
+    private int tx(Supplier<Integer> work) {
+        Integer n = tx.execute(status -> work.get());
+        return n == null ? 0 : n;
+    }
+
+    private List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> out = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += chunkSize) {
+            out.add(ids.subList(i, Math.min(i + chunkSize, ids.size())));
+        }
+        return out;
+    }
+
+    private static final class Progress {
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong deletedRows = new AtomicLong();
+        private volatile State state = State.RUNNING;
+        private volatile String step = "start";
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        void step(String s) { step = s; }
+
+        void add(long rows) { deletedRows.addAndGet(rows); }
+
+        void finish(State s, String err) {
+            error = err;
+            finishedAt = LocalDateTime.now();
+            state = s;
+        }
+
+        AccountDeletionStatusResponse toResponse() {
+            return new AccountDeletionStatusResponse(
+                    state.name(), step, deletedRows.get(), startedAt, finishedAt, error);
+        }
+    }
+}
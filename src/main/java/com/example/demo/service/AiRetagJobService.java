@@ -0,0 +1,384 @@
+// 기존 재능 글 전체를 AI로 다시 태깅하는 관리자용 백그라운드 작업
+package com.example.demo.service;
+
+import com.example.demo.dto.ai.AiRetagStatusResponse;
+import com.example.demo.entity.AiRetagCheckpoint;
+import com.example.demo.entity.AiRetagCheckpoint.JobStatus;
+import com.example.demo.entity.AiRetagFailedPost;
+import com.example.demo.entity.Tag;
+import com.example.demo.entity.TalentPost;
+import com.example.demo.repository.AiRetagCheckpointRepository;
+import com.example.demo.repository.AiRetagFailedPostRepository;
+import com.example.demo.repository.TalentPostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🔁 AI 일괄 재태깅 작업
+ *  - id 순서로 글을 batchSize 개씩 읽어서, 한 번의 GPT 호출로 묶어서 태그 추천
+ *  - 추천 태그는 TagService.createOrReviveTags 로 한 번에 생성/복구 후 글에 연결
+ *  - 배치마다 체크포인트(lastPostId)를 저장 → 서버 재시작 후 이어서 진행
+ *  - 태그를 못 받은 글은 ai_retag_failed_post 에 남겨서 마지막에 다시 시도
+ *  - GPT 호출 중에는 DB 트랜잭션/커넥션을 잡지 않음
+ */
+@Service
+@Slf4j
+public class AiRetagJobService {
+
+    private final TalentPostRepository postRepo;
+    private final AiRetagCheckpointRepository checkpointRepo;
+    private final AiRetagFailedPostRepository failedPostRepo;
+    private final AiTagService aiTagService;
+    private final TagService tagService;
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate tx;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final double pricePer1kPromptTokens;
+    private final double pricePer1kCompletionTokens;
+
+    // 현재 실행 중인지 / 중단 요청이 들어왔는지
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicBoolean stopRequested = new AtomicBoolean(false);
+
+    // 이번 실행 기준 처리량 계산용
+    private final AtomicLong runStartedAtMs = new AtomicLong(0);
+    private final AtomicLong runPostsProcessed = new AtomicLong(0);
+    // 같은 배치가 연속으로 실패한 횟수
+    private final AtomicInteger consecutiveBatchFailures = new AtomicInteger(0);
+
+    public AiRetagJobService(TalentPostRepository postRepo,
+                             AiRetagCheckpointRepository checkpointRepo,
+                             AiRetagFailedPostRepository failedPostRepo,
+                             AiTagService aiTagService,
+                             TagService tagService,
+                             @Qualifier("aiRetagExecutor") ThreadPoolTaskExecutor executor,
+                             PlatformTransactionManager txManager,
+                             @Value("${app.ai-retag.batch-size:20}") int batchSize,
+                             @Value("${app.ai-retag.max-attempts:3}") int maxAttempts,
+                             @Value("${app.ai-retag.price-per-1k-prompt-tokens:0.0004}") double pricePer1kPromptTokens,
+                             @Value("${app.ai-retag.price-per-1k-completion-tokens:0.0016}") double pricePer1kCompletionTokens) {
+        this.postRepo = postRepo;
+        this.checkpointRepo = checkpointRepo;
+        this.failedPostRepo = failedPostRepo;
+        this.aiTagService = aiTagService;
+        this.tagService = tagService;
+        this.executor = executor;
+        this.tx = new TransactionTemplate(txManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.pricePer1kPromptTokens = pricePer1kPromptTokens;
+        this.pricePer1kCompletionTokens = pricePer1kCompletionTokens;
+    }
+
+    /**
+     * 작업 시작 (또는 체크포인트부터 재개)
+     * @param restart true 면 체크포인트를 처음(0)으로 되돌리고 다시 시작
+     */
+    public AiRetagStatusResponse start(boolean restart) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("이미 재태깅 작업이 실행 중입니다.");
+        }
+        tx.executeWithoutResult(s -> {
+            AiRetagCheckpoint cp = loadOrCreateCheckpoint();
+            if (restart) {
+                cp.setLastPostId(0L);
+                cp.setPostsProcessed(0);
+                cp.setTagsApplied(0);
+                cp.setRequests(0);
+                cp.setFailures(0);
+                cp.setPromptTokens(0);
+                cp.setCompletionTokens(0);
+                failedPostRepo.deleteAllInBatch();
+            }
+            cp.setStatus(JobStatus.RUNNING);
+            checkpointRepo.save(cp);
+        });
+        submit();
+        return status();
+    }
+
+    /** 작업 중단 요청 (현재 배치까지만 처리하고 멈춤) */
+    public AiRetagStatusResponse stop() {
+        stopRequested.set(true);
+        if (!running.get()) {
+            tx.executeWithoutResult(s -> {
+                AiRetagCheckpoint cp = loadOrCreateCheckpoint();
+                if (cp.getStatus() == JobStatus.RUNNING) {
+                    cp.setStatus(JobStatus.STOPPED);
+                }
+            });
+        }
+        return status();
+    }
+
+    /** 진행 상황 + 처리량/비용 카운터 */
+    public AiRetagStatusResponse status() {
+        AiRetagCheckpoint cp = tx.execute(s -> loadOrCreateCheckpoint());
+        long pendingRetries = failedPostRepo.countByAttemptsLessThan(maxAttempts);
+
+        double cost = cp.getPromptTokens() / 1000.0 * pricePer1kPromptTokens
+                + cp.getCompletionTokens() / 1000.0 * pricePer1kCompletionTokens;
+
+        double postsPerSecond = 0.0;
+        long startedAt = runStartedAtMs.get();
+        if (startedAt > 0) {
+            double elapsedSec = Math.max(1, System.currentTimeMillis() - startedAt) / 1000.0;
+            postsPerSecond = runPostsProcessed.get() / elapsedSec;
+        }
+
+        return new AiRetagStatusResponse(
+                running.get() ? JobStatus.RUNNING.name() : cp.getStatus().name(),
+                cp.getLastPostId(),
+                cp.getPostsProcessed(),
+                cp.getTagsApplied(),
+                cp.getRequests(),
+                cp.getFailures(),
+                pendingRetries,
+                cp.getPromptTokens(),
+                cp.getCompletionTokens(),
+                Math.round(cost * 10000) / 10000.0,
+                Math.round(postsPerSecond * 100) / 100.0
+        );
+    }
+
+    /**
+     * 서버가 재시작됐을 때, 돌던 작업이 있으면 체크포인트부터 자동 재개
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeIfRunning() {
+        boolean wasRunning = checkpointRepo.findById(AiRetagCheckpoint.SINGLETON_ID)
+                .map(cp -> cp.getStatus() == JobStatus.RUNNING)
+                .orElse(false);
+        if (wasRunning && running.compareAndSet(false, true)) {
+            log.info("AI retag job resumed from checkpoint");
+            submit();
+        }
+    }
+
+    /* ========= 내부 실행 로직 ========= */
+
+    private void submit() {
+        stopRequested.set(false);
+        runStartedAtMs.set(System.currentTimeMillis());
+        runPostsProcessed.set(0);
+        consecutiveBatchFailures.set(0);
+        try {
+            executor.execute(this::runLoop);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    private void runLoop() {
+        try {
+            while (!stopRequested.get()) {
+                BatchOutcome outcome = processNextBatch();
+                if (outcome == BatchOutcome.EMPTY) {
+                    markStatus(JobStatus.DONE);
+                    log.info("AI retag job finished");
+                    return;
+                }
+                if (outcome == BatchOutcome.GAVE_UP) {
+                    markStatus(JobStatus.STOPPED);
+                    return;
+                }
+            }
+            markStatus(JobStatus.STOPPED);
+            log.info("AI retag job stopped by admin");
+        } catch (Exception e) {
+            // 예상 못한 오류: RUNNING 상태로 남겨서 다음 재시작 때 이어서 진행
+            log.error("AI retag job aborted", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /** 배치 하나의 처리 결과 */
+    private enum BatchOutcome {
+        PROCESSED,  // 처리함 (일부 글 실패는 failed 목록에 기록)
+        EMPTY,      // 처리할 글이 더 없음
+        GAVE_UP     // 같은 배치가 연속으로 실패해서 멈춤
+    }
+
+    /** 이번 배치에 처리할 글 id (retry=true 면 실패 목록에서 다시 시도하는 중) */
+    private record BatchIds(List<Long> ids, boolean retry) {}
+
+    /**
+     * 배치 하나 처리
+     * - 체크포인트 이후 글을 먼저 처리하고, 다 끝나면 실패 목록(ai_retag_failed_post)을 다시 시도
+     * - GPT 호출/응답 파싱 자체가 실패하면 체크포인트를 그대로 두고 같은 배치를 다시 시도
+     * - 일부 글만 태그를 못 받으면 그 글만 실패 목록에 남기고 체크포인트는 진행
+     */
+    private BatchOutcome processNextBatch() {
+        // 1) 읽기: 체크포인트 이후 글들을 id 순으로 batchSize 개 (없으면 실패 목록에서)
+        Long lastId = tx.execute(s -> loadOrCreateCheckpoint().getLastPostId());
+        BatchIds next = tx.execute(s -> {
+            List<Long> ids = postRepo.findIdsAfter(lastId, PageRequest.of(0, batchSize));
+            if (!ids.isEmpty()) return new BatchIds(ids, false);
+            return new BatchIds(failedPostRepo.findRetryableIds(maxAttempts, PageRequest.of(0, batchSize)), true);
+        });
+        if (next.ids().isEmpty()) return BatchOutcome.EMPTY;
+
+        List<AiTagService.BatchItem> items = tx.execute(s -> {
+            List<AiTagService.BatchItem> found = postRepo.findAllWithTagsByIdIn(next.ids()).stream()
+                    .sorted(Comparator.comparing(TalentPost::getId))
+                    .map(p -> new AiTagService.BatchItem(
+                            p.getId(), p.getTitle(), p.getContent(), p.getAuthor().getMajor()))
+                    .toList();
+            if (next.retry() && found.size() < next.ids().size()) {
+                // 그 사이 삭제된 글은 실패 목록에서도 지움
+                Set<Long> missing = new HashSet<>(next.ids());
+                found.forEach(i -> missing.remove(i.id()));
+                failedPostRepo.deleteByPostIdIn(missing);
+            }
+            return found;
+        });
+        if (items.isEmpty()) return BatchOutcome.PROCESSED;
+
+        Long batchLastId = next.ids().get(next.ids().size() - 1);
+
+        // 2) GPT 호출 (트랜잭션 밖)
+        AiTagService.BatchResult result = suggestOrNull(items, lastId);
+        if (result == null || result.tagsByPostId().isEmpty()) {
+            // 배치 전체 실패: 체크포인트는 그대로 두고 다시 시도 (연속 maxAttempts 번이면 멈춤)
+            tx.executeWithoutResult(s -> {
+                AiRetagCheckpoint cp = loadOrCreateCheckpoint();
+                cp.setRequests(cp.getRequests() + 1);
+                cp.setFailures(cp.getFailures() + items.size());
+                if (result != null) {
+                    cp.setPromptTokens(cp.getPromptTokens() + result.promptTokens());
+                    cp.setCompletionTokens(cp.getCompletionTokens() + result.completionTokens());
+                }
+            });
+            int failedInRow = consecutiveBatchFailures.incrementAndGet();
+            if (failedInRow >= maxAttempts) {
+                log.warn("AI retag job gave up after {} failed attempts (after id {})", failedInRow, lastId);
+                return BatchOutcome.GAVE_UP;
+            }
+            return BatchOutcome.PROCESSED;
+        }
+        consecutiveBatchFailures.set(0);
+
+        // 3) 쓰기: 태그 일괄 생성/복구 + 글에 연결 + 실패 목록/체크포인트 갱신 (한 트랜잭션)
+        tx.executeWithoutResult(s -> {
+            List<Long> ids = items.stream().map(AiTagService.BatchItem::id).toList();
+            List<TalentPost> posts = postRepo.findAllWithTagsByIdIn(ids);
+
+            // 카테고리별로 추천 태그 이름을 모아서 카테고리당 한 번만 생성/복구
+            Map<Long, List<String>> namesByPost = new HashMap<>();
+            Map<String, Set<String>> namesByCategory = new LinkedHashMap<>();
+            for (TalentPost p : posts) {
+                List<String> names = result.tagsByPostId().getOrDefault(p.getId(), List.of()).stream()
+                        .filter(n -> n.length() <= 20)
+                        .toList();
+                if (names.isEmpty()) continue;
+                namesByPost.put(p.getId(), names);
+                namesByCategory.computeIfAbsent(p.getCategory().name(), k -> new LinkedHashSet<>())
+                        .addAll(names);
+            }
+            Map<String, Map<String, Tag>> tagsByCategory = new HashMap<>();
+            namesByCategory.forEach((category, names) -> {
+                Map<String, Tag> byName = new HashMap<>();
+                for (Tag t : tagService.createOrReviveTags(category, names)) {
+                    byName.put(t.getName().toLowerCase(), t);
+                }
+                tagsByCategory.put(category, byName);
+            });
+
+            long applied = 0;
+            List<Long> failedIds = new ArrayList<>();
+            List<Long> taggedIds = new ArrayList<>();
+            for (TalentPost p : posts) {
+                List<String> names = namesByPost.get(p.getId());
+                if (names == null) {
+                    failedIds.add(p.getId());
+                    continue;
+                }
+                Map<String, Tag> byName = tagsByCategory.get(p.getCategory().name());
+                for (String n : names) {
+                    Tag t = byName.get(n.trim().toLowerCase());
+                    if (t != null && !p.getTags().contains(t)) {
+                        p.getTags().add(t);
+                        applied++;
+                    }
+                }
+                taggedIds.add(p.getId());
+            }
+
+            recordFailures(failedIds);
+            if (next.retry() && !taggedIds.isEmpty()) {
+                failedPostRepo.deleteByPostIdIn(taggedIds);
+            }
+
+            AiRetagCheckpoint cp = loadOrCreateCheckpoint();
+            if (!next.retry()) {
+                cp.setLastPostId(batchLastId);
+                cp.setPostsProcessed(cp.getPostsProcessed() + items.size());
+            }
+            cp.setRequests(cp.getRequests() + 1);
+            cp.setTagsApplied(cp.getTagsApplied() + applied);
+            cp.setFailures(cp.getFailures() + failedIds.size());
+            cp.setPromptTokens(cp.getPromptTokens() + result.promptTokens());
+            cp.setCompletionTokens(cp.getCompletionTokens() + result.completionTokens());
+        });
+
+        if (!next.retry()) {
+            runPostsProcessed.addAndGet(items.size());
+        }
+        return BatchOutcome.PROCESSED;
+    }
+
+    // 태그를 못 받은 글을 실패 목록에 기록 (이미 있으면 attempts + 1)
+    private void recordFailures(List<Long> postIds) {
+        if (postIds.isEmpty()) return;
+        Map<Long, AiRetagFailedPost> existing = new HashMap<>();
+        for (AiRetagFailedPost f : failedPostRepo.findAllById(postIds)) {
+            existing.put(f.getPostId(), f);
+        }
+        List<AiRetagFailedPost> rows = new ArrayList<>();
+        for (Long id : postIds) {
+            AiRetagFailedPost f = existing.getOrDefault(id, AiRetagFailedPost.builder().postId(id).build());
+            f.setAttempts(f.getAttempts() + 1);
+            rows.add(f);
+        }
+        failedPostRepo.saveAll(rows);
+    }
+
+    private AiTagService.BatchResult suggestOrNull(List<AiTagService.BatchItem> items, Long lastId) {
+        try {
+            return aiTagService.suggestTagsBatch(items);
+        } catch (Exception e) {
+            log.warn("AI retag batch failed (after id {}): {}", lastId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void markStatus(JobStatus status) {
+        tx.executeWithoutResult(s -> loadOrCreateCheckpoint().setStatus(status));
+    }
+
+    private AiRetagCheckpoint loadOrCreateCheckpoint() {
+        return checkpointRepo.findById(AiRetagCheckpoint.SINGLETON_ID)
+                .orElseGet(() -> checkpointRepo.save(AiRetagCheckpoint.builder()
+                        .id(AiRetagCheckpoint.SINGLETON_ID)
+                        .lastPostId(0L)
+                        .status(JobStatus.IDLE)
+                        .build()));
+    }
+}
@@ -5,13 +5,17 @@ import com.example.demo.ai.OpenAiClient;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class AiTagService {
 
@@ -74,6 +78,99 @@ public class AiTagService {
         return cleanTags(fallbackParse(jsonOnly));
     }
 
+    /**
+     * 여러 글을 한 번의 GPT 호출로 묶어서 태그를 추천받음 (대량 재태깅용)
+     * - 응답 형태: {"12": ["웹 개발","디자인","포트폴리오"], "13": [...]}
+     * - 파싱에 실패한 글은 결과 Map 에서 빠짐 (호출한 쪽에서 건너뜀)
+     */
+    public BatchResult suggestTagsBatch(List<BatchItem> items) {
+        if (items == null || items.isEmpty()) {
+            return new BatchResult(Map.of(), 0, 0);
+        }
+
+        StringBuilder posts = new StringBuilder();
+        for (BatchItem it : items) {
+            posts.append("- id: ").append(it.id()).append('\n')
+                    .append("  제목: ").append(nullToEmpty(it.title())).append('\n')
+                    .append("  내용: ").append(truncate(nullToEmpty(it.content()), 300)).append('\n')
+                    .append("  전공: ").append((it.major() == null || it.major().isBlank()) ? "모름" : it.major())
+                    .append('\n');
+        }
+
+        String prompt = """
+                너는 태그 추천 AI야.
+                아래 여러 개의 글 각각에 어울리는 태그를 추천해줘.
+                반드시 JSON 객체 하나만 출력해.
+
+                규칙:
+                - 키는 글 id(문자열), 값은 태그 배열
+                - 예: {"12": ["웹 개발","디자인","포트폴리오"], "13": ["보컬","작곡","레슨"]}
+                - 절대 JSON 외 다른 말 하지 마
+                - 글마다 태그는 3개
+                - 한글 태그만
+                - 태그 길이 1~10자
+                - 해시태그(#) 금지
+
+                입력:
+                %s
+                """.formatted(posts);
+
+        OpenAiClient.ChatResult res = openAiClient.chatWithUsage(prompt, 0.3);
+        String jsonOnly = extractJsonObject(res.content());
+
+        Map<Long, List<String>> out = new LinkedHashMap<>();
+        try {
+            Map<String, List<String>> parsed = objectMapper.readValue(
+                    jsonOnly,
+                    new TypeReference<Map<String, List<String>>>() {}
+            );
+            for (var e : parsed.entrySet()) {
+                Long id = parseIdOrNull(e.getKey());
+                if (id == null || e.getValue() == null) continue;
+                out.put(id, cleanTags(e.getValue()));
+            }
+        } catch (IOException e) {
+            log.warn("batch JSON parsing failed, skip this batch: {}", e.getMessage());
+        }
+        return new BatchResult(out, res.promptTokens(), res.completionTokens());
+    }
+
+    /** 배치 요청에 들어가는 글 하나 */
+    public record BatchItem(Long id, String title, String content, String major) {}
+
+    /** 배치 결과: 글 id → 태그 목록 + 토큰 사용량 */
+    public record BatchResult(Map<Long, List<String>> tagsByPostId,
+                              long promptTokens,
+                              long completionTokens) {}
+
+    /**
+     * GPT 응답 문자열에서 { ... } 부분만 잘라내기
+     */
+    private String extractJsonObject(String raw) {
+        if (raw == null) return "{}";
+
+        int start = raw.indexOf('{');
+        int end = raw.lastIndexOf('}');
+
+        if (start >= 0 && end > start) {
+            return raw.substring(start, end + 1);
+        }
+        return "{}";
+    }
+
+    private Long parseIdOrNull(String s) {
+        try {
+            return Long.valueOf(s.trim());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // 프롬프트 토큰을 아끼기 위해 긴 본문은 잘라서 보냄
+    private String truncate(String s, int max) {
+        return s.length() > max ? s.substring(0, max) : s;
+    }
+
     /**
      * GPT 응답 문자열에서 [ ... ] 부분만 잘라내기
      * - 앞뒤에 설명이 있어도 괜찮게 처리
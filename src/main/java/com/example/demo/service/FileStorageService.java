@@ -1,64 +1,292 @@
 // src/main/java/com/example/demo/service/FileStorageService.java
 package com.example.demo.service;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
+import com.example.demo.dto.ImageUploadResponse;
+import com.example.demo.exception.ServiceBusyException;
+import com.example.demo.storage.ImageContentHash;
+import com.example.demo.storage.ImageContentHashRepository;
+import com.example.demo.storage.ImageProcessor;
+import com.example.demo.storage.ImageVariant;
+import com.example.demo.storage.StorageBackend;
+import com.example.demo.storage.StoredImage;
+import com.example.demo.storage.StoredImageRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.Map;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
- * 이미지 파일을 Cloudinary에 업로드하고,
- * 업로드된 파일의 HTTPS URL(secure_url)을 반환하는 서비스.
+ * 이미지 파일을 저장소(StorageBackend: Cloudinary 또는 로컬 디스크)에 올리고,
+ * 클라이언트가 사용할 URL 을 반환하는 서비스.
+ *
+ * - 업로드 파일을 byte[] 로 통째로 읽지 않고, 고정 크기 버퍼로 임시 파일에 흘려 쓴 뒤
+ *   그 파일을 저장소로 스트리밍 업로드 (힙 사용량이 파일 크기와 무관)
+ * - 동시에 진행되는 업로드 개수를 세마포어로 제한
+ * - 메타데이터 제거/리사이즈/썸네일 생성은 imageProcessingExecutor 에서 처리
+ *   (Tomcat 요청 스레드는 임시 파일 복사까지만 하고 바로 반환)
+ * - 임시 파일로 복사하면서 SHA-256 을 같이 계산 → 이미 올라간 내용이면
+ *   저장소 업로드 없이 기존 URL 을 그대로 반환 (image_content_hashes 테이블)
  */
 @Service
 public class FileStorageService {
 
-    private final Cloudinary cloudinary;
+    // 임시 파일로 복사할 때 쓰는 고정 버퍼 크기
+    static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final StorageBackend storage;
+    private final ImageProcessor imageProcessor;
+    private final StoredImageRepository storedImageRepository;
+    private final ImageContentHashRepository contentHashRepository;
+    private final ThreadPoolTaskExecutor imageExecutor;
+    private final Path spoolDir;
+    private final Semaphore uploadSlots;
+    private final long acquireTimeoutMs;
 
     public FileStorageService(
-            @Value("${cloudinary.cloud-name}") String cloudName,
-            @Value("${cloudinary.api-key}") String apiKey,
-            @Value("${cloudinary.api-secret}") String apiSecret
+            StorageBackend storage,
+            ImageProcessor imageProcessor,
+            StoredImageRepository storedImageRepository,
+            ImageContentHashRepository contentHashRepository,
+            @Qualifier("imageProcessingExecutor") ThreadPoolTaskExecutor imageExecutor,
+            @Value("${app.upload.tmp-dir:${java.io.tmpdir}}") String spoolDir,
+            @Value("${app.upload.max-concurrent:4}") int maxConcurrent,
+            @Value("${app.upload.acquire-timeout-ms:3000}") long acquireTimeoutMs
     ) {
-        this.cloudinary = new Cloudinary(ObjectUtils.asMap(
-                "cloud_name", cloudName,
-                "api_key", apiKey,
-                "api_secret", apiSecret
-        ));
+        this.storage = storage;
+        this.imageProcessor = imageProcessor;
+        this.storedImageRepository = storedImageRepository;
+        this.contentHashRepository = contentHashRepository;
+        this.imageExecutor = imageExecutor;
+        this.spoolDir = Path.of(spoolDir);
+        this.uploadSlots = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
     }
 
     /**
-     * 이미지를 Cloudinary에 업로드하고, HTTPS URL을 반환한다.
+     * 이미지를 정규화 + 썸네일 생성 후 저장소에 업로드하고, URL 들을 반환한다.
      *
      * @param file 업로드할 이미지 파일
-     * @return 업로드된 이미지의 secure_url (예: https://res.cloudinary.com/...)
+     * @return 대표 URL(Cloudinary secure_url 또는 로컬 /files/{hash}.{ext}) + 크기별 URL
      */
-    public String saveImage(MultipartFile file) {
+    public CompletableFuture<ImageUploadResponse> saveImage(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("빈 파일입니다.");
         }
 
+        acquireUploadSlot();
+        Path tmp;
+        String sha256;
         try {
-            Map uploadResult = cloudinary.uploader().upload(
-                    file.getBytes(),
-                    ObjectUtils.asMap(
-                            "resource_type", "image"
-                            // 필요하면 폴더 설정도 가능:
-                            // "folder", "linku/profile"
-                    )
-            );
-
-            Object url = uploadResult.get("secure_url");
-            if (url == null) {
-                throw new RuntimeException("Cloudinary 응답에 secure_url이 없습니다.");
+            // 멀티파트 → 임시 파일 (고정 버퍼로 스트리밍 복사 + SHA-256 계산)
+            MessageDigest digest = sha256Digest();
+            tmp = spoolToTempFile(file, spoolDir, digest);
+            sha256 = HexFormat.of().formatHex(digest.digest());
+        } catch (Exception e) {
+            uploadSlots.release();
+            throw new RuntimeException("이미지 업로드 실패", e);
+        }
+
+        // 같은 내용이 이미 올라가 있으면 저장소 업로드 없이 기존 URL 반환
+        Optional<ImageUploadResponse> existing;
+        try {
+            existing = findByContentHash(sha256);
+        } catch (RuntimeException e) {
+            uploadSlots.release();
+            deleteQuietly(tmp);
+            throw e;
+        }
+        if (existing.isPresent()) {
+            uploadSlots.release();
+            deleteQuietly(tmp);
+            return CompletableFuture.completedFuture(existing.get());
+        }
+
+        try {
+            return CompletableFuture
+                    .supplyAsync(() -> processAndStore(tmp, sha256), imageExecutor)
+                    .whenComplete((res, e) -> {
+                        uploadSlots.release();
+                        deleteQuietly(tmp);
+                    });
+        } catch (RejectedExecutionException e) {
+            uploadSlots.release();
+            deleteQuietly(tmp);
+            throw new ServiceBusyException("이미지 처리 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    /**
+     * 대표 URL 로 썸네일 정보 조회 (업로드 API 를 거치지 않은 URL 이면 empty)
+     */
+    public Optional<StoredImage> findVariants(String url) {
+        if (url == null) return Optional.empty();
+        return storedImageRepository.findByUrl(url);
+    }
+
+    /**
+     * 여러 대표 URL 의 썸네일 정보를 한 번에 조회 (url → StoredImage)
+     */
+    public Map<String, StoredImage> findVariants(Collection<String> urls) {
+        if (urls == null || urls.isEmpty()) return Map.of();
+        return storedImageRepository.findByUrlIn(urls).stream()
+                .collect(Collectors.toMap(StoredImage::getUrl, Function.identity(), (a, b) -> a));
+    }
+
+    /**
+     * 내용 해시로 이전 업로드 결과 조회 (크기별 URL 이 없으면 대표 URL 로 채움)
+     */
+    private Optional<ImageUploadResponse> findByContentHash(String sha256) {
+        return contentHashRepository.findBySha256(sha256)
+                .map(h -> findVariants(h.getUrl())
+                        .map(v -> new ImageUploadResponse(
+                                v.getUrl(), v.getDetailUrl(), v.getCardUrl(), v.getAvatarUrl()))
+                        .orElseGet(() -> new ImageUploadResponse(
+                                h.getUrl(), h.getUrl(), h.getUrl(), h.getUrl())));
+    }
+
+    /**
+     * 이미지 작업 스레드에서 실행: 정규화/썸네일 생성 → 크기별 업로드 → URL 기록
+     */
+    private ImageUploadResponse processAndStore(Path tmp, String sha256) {
+        ImageProcessor.Processed processed = null;
+        try {
+            processed = imageProcessor.process(tmp, spoolDir);
+            if (processed == null) {
+                // ImageIO 로 못 읽는 파일(webp, CMYK JPEG 등)은 시그니처가 허용 형식일 때만 원본 그대로 저장
+                // - 확장자는 클라이언트가 보낸 파일 이름이 아니라 시그니처로 정함
+                //   (html/svg 같은 파일이 /files 로 같은 출처에서 서빙되지 않도록)
+                String ext = ImageProcessor.detectFormat(tmp);
+                if (ext == null) {
+                    throw new IllegalArgumentException("jpg, png, gif, webp 이미지만 업로드할 수 있습니다.");
+                }
+                String url = storage.store(tmp, ext, sha256); // 원본 그대로이므로 복사하면서 계산한 해시 사용
+                saveContentHash(sha256, url);
+                return new ImageUploadResponse(url, url, url, url);
             }
 
-            return url.toString(); // Cloudinary 절대 URL
-        } catch (Exception e) {
+            Map<ImageVariant, String> urls = new EnumMap<>(ImageVariant.class);
+            for (var e : processed.files().entrySet()) {
+                urls.put(e.getKey(), storage.store(
+                        e.getValue(), processed.extension(), processed.sha256().get(e.getKey())));
+            }
+
+            StoredImage saved = saveVariants(StoredImage.builder()
+                    .url(urls.get(ImageVariant.ORIGINAL))
+                    .detailUrl(urls.get(ImageVariant.DETAIL))
+                    .cardUrl(urls.get(ImageVariant.CARD))
+                    .avatarUrl(urls.get(ImageVariant.AVATAR))
+                    .build());
+            saveContentHash(sha256, saved.getUrl());
+
+            return new ImageUploadResponse(
+                    saved.getUrl(), saved.getDetailUrl(), saved.getCardUrl(), saved.getAvatarUrl());
+        } catch (IOException e) {
             throw new RuntimeException("이미지 업로드 실패", e);
+        } finally {
+            if (processed != null) {
+                processed.files().values().forEach(FileStorageService::deleteQuietly);
+            }
+        }
+    }
+
+    // 같은 대표 URL 이 동시에 저장되면 unique 제약에 걸림 → 먼저 저장된 것 사용
+    private StoredImage saveVariants(StoredImage img) {
+        var existing = storedImageRepository.findByUrl(img.getUrl());
+        if (existing.isPresent()) return existing.get();
+        try {
+            return storedImageRepository.save(img);
+        } catch (DataIntegrityViolationException e) {
+            return storedImageRepository.findByUrl(img.getUrl()).orElseThrow(() -> e);
+        }
+    }
+
+    // 같은 내용이 동시에 올라오면 unique 제약에 걸림 → 먼저 기록된 URL 유지
+    private void saveContentHash(String sha256, String url) {
+        if (contentHashRepository.findBySha256(sha256).isPresent()) return;
+        try {
+            contentHashRepository.save(ImageContentHash.builder()
+                    .sha256(sha256)
+                    .url(url)
+                    .build());
+        } catch (DataIntegrityViolationException ignored) {
+            // 다른 요청이 먼저 기록함
+        }
+    }
+
+    /**
+     * 업로드 슬롯 확보 (일정 시간 안에 못 얻으면 503)
+     */
+    private void acquireUploadSlot() {
+        try {
+            if (!uploadSlots.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new ServiceBusyException("업로드 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("업로드가 중단되었습니다.");
+        }
+    }
+
+    /**
+     * 멀티파트 파일을 고정 크기 버퍼로 임시 파일에 복사
+     * - file.getBytes() 를 쓰지 않으므로 파일 크기만큼 힙을 잡지 않음
+     */
+    static Path spoolToTempFile(MultipartFile file, Path dir) throws IOException {
+        return spoolToTempFile(file, dir, null);
+    }
+
+    /**
+     * 복사하는 버퍼를 그대로 digest 에도 흘려서, 파일을 다시 읽지 않고 해시 계산
+     */
+    static Path spoolToTempFile(MultipartFile file, Path dir, MessageDigest digest) throws IOException {
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, "upload-", ".tmp");
+        try (InputStream in = file.getInputStream();
+             OutputStream out = Files.newOutputStream(tmp)) {
+            byte[] buf = new byte[COPY_BUFFER_SIZE];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                out.write(buf, 0, n);
+                if (digest != null) digest.update(buf, 0, n);
+            }
+        } catch (IOException e) {
+            deleteQuietly(tmp);
+            throw e;
+        }
+        return tmp;
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private static void deleteQuietly(Path p) {
+        if (p == null) return;
+        try {
+            Files.deleteIfExists(p);
+        } catch (IOException ignored) {
+            // 임시 파일 삭제 실패는 무시 (OS 임시 폴더 정리에 맡김)
         }
     }
 }
@@ -8,7 +8,11 @@ import com.example.demo.repository.TagRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -64,6 +68,44 @@ public class TagService {
         return new TagResponse(saved.getId(), saved.getCategory(), saved.getName());
     }
 
+    /**
+     * createOrReviveTag 의 일괄 버전
+     * - 카테고리 안의 태그를 한 번에 읽어와서 메모리에서 매칭
+     * - 새로 만들거나 되살린 태그만 saveAll 로 한 번에 저장
+     */
+    @Transactional
+    public List<Tag> createOrReviveTags(String category, Collection<String> names) {
+        String cat = normalizeCategory(category);
+
+        Map<String, Tag> byName = new HashMap<>();
+        for (Tag t : tagRepository.findByCategory(cat)) {
+            byName.putIfAbsent(t.getName().toLowerCase(), t);
+        }
+
+        List<Tag> result = new ArrayList<>();
+        List<Tag> dirty = new ArrayList<>();
+        for (String n : names) {
+            String name = normalizeName(n);
+            Tag t = byName.get(name.toLowerCase());
+            if (t == null) {
+                t = Tag.builder()
+                        .category(cat)
+                        .name(name)
+                        .active(true)
+                        .build();
+                byName.put(name.toLowerCase(), t);
+                dirty.add(t);
+            } else if (!t.isActive()) {
+                t.setActive(true);
+                dirty.add(t);
+            }
+            if (!result.contains(t)) result.add(t);
+        }
+
+        tagRepository.saveAll(dirty);
+        return result;
+    }
+
     @Transactional
     public void deactivateTagIfExists(Long id) {
         tagRepository.findById(id).ifPresent(t -> {
@@ -3,6 +3,7 @@ package com.example.demo.service;
 import com.example.demo.dto.talent.*;
 import com.example.demo.entity.*;
 import com.example.demo.repository.*;
+import com.example.demo.storage.StoredImage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
@@ -26,6 +27,8 @@ public class TalentPostService {
     private final TagRepository tagRepo;
     // 즐겨찾기 DB
     private final TalentFavoriteRepository talentFavoriteRepository;
+    // 이미지 썸네일 조회
+    private final FileStorageService fileStorageService;
 
     /* ========= 작은 유틸 메서드들 ========= */
 
@@ -112,6 +115,13 @@ public class TalentPostService {
         return out;
     }
 
+    // 대표 이미지의 카드용 썸네일 URL (업로드 API 로 올린 이미지가 아니면 null)
+    private String cardUrlFor(String coverUrl) {
+        return fileStorageService.findVariants(coverUrl)
+                .map(StoredImage::getCardUrl)
+                .orElse(null);
+    }
+
     /* ========= 재능 글 비즈니스 로직 ========= */
 
     /**
@@ -150,6 +160,7 @@ public class TalentPostService {
                 .category(req.category())
                 .extraNote(trimOrNull(req.extraNote()))
                 .portfolioImageUrl(legacyMain)     // 대표 이미지
+                .portfolioImageCardUrl(cardUrlFor(legacyMain)) // 목록 카드용 썸네일
                 .portfolioImageUrls(urls)          // 여러 장 이미지
                 .price(req.price() == null ? 0 : req.price())
                 .location(trimOrNull(req.location()))
@@ -249,6 +260,7 @@ public class TalentPostService {
         p.setTags(tags);
         p.setExtraNote(trimOrNull(req.extraNote()));
         p.setPortfolioImageUrl(legacyMain);
+        p.setPortfolioImageCardUrl(cardUrlFor(legacyMain));
         p.setPortfolioImageUrls(urls);
         p.setPrice(req.price() == null ? 0 : req.price());
         p.setLocation(trimOrNull(req.location()));
@@ -358,6 +370,15 @@ public class TalentPostService {
         String cover =
                 portfolioImageUrls.isEmpty() ? null : portfolioImageUrls.get(0);
 
+        // 상세 화면용 썸네일 (한 번에 조회, 없으면 원본 URL)
+        Map<String, StoredImage> variants = fileStorageService.findVariants(portfolioImageUrls);
+        List<String> detailUrls = portfolioImageUrls.stream()
+                .map(u -> {
+                    StoredImage v = variants.get(u);
+                    return (v != null && v.getDetailUrl() != null) ? v.getDetailUrl() : u;
+                })
+                .toList();
+
         return new TalentPostResponse(
                 p.getId(),
                 p.getTitle(),
@@ -368,12 +389,14 @@ public class TalentPostService {
                 p.getExtraNote(),
                 cover,                 // 대표 이미지
                 portfolioImageUrls,    // 여러 장 이미지
+                detailUrls,            // 여러 장 이미지 (상세 화면용 크기)
                 p.getPrice(),
                 p.getLocation(),
                 p.getAuthor().getUserId(),
                 p.getAuthor().getUsername(),
                 p.getAuthor().getMajor(),
                 p.getAuthor().getProfileImageUrl(),
+                p.getAuthor().getProfileImageThumbUrl(),
                 p.getViews(),
                 p.getLikesCount(),
                 p.getStatus().name(),
@@ -398,7 +421,10 @@ public class TalentPostService {
                 p.getAuthor().getUserId(),
                 p.getAuthor().getUsername(),
                 p.getAuthor().getMajor(),
-                p.getAuthor().getProfileImageUrl(),
+                p.getAuthor().getProfileAvatarUrl(),
+                p.getPortfolioImageCardUrl() != null
+                        ? p.getPortfolioImageCardUrl()
+                        : p.getPortfolioImageUrl(),
                 p.getViews(),
                 p.getCreatedAt()
         );
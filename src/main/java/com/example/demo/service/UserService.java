@@ -3,27 +3,64 @@ package com.example.demo.service;
 import com.example.demo.dto.UserLoginRequest;
 import com.example.demo.dto.UserResponse;
 import com.example.demo.entity.User;
+import com.example.demo.exception.ServiceBusyException;
 import com.example.demo.repository.UserRepository;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.example.demo.security.PasswordHasher;
+import com.example.demo.storage.StoredImage;
+import com.example.demo.verification.VerificationCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service // 유저 관련 비즈니스 로직을 담당하는 서비스
+@Slf4j
 public class UserService {
 
     private final UserRepository userRepository;          // 유저 DB 접근용
-    private final PasswordEncoder passwordEncoder;        // 비밀번호 암호화 도구
+    private final PasswordHasher passwordHasher;          // 비밀번호 해시/비교 (전용 스레드 풀)
     private final VerificationService verificationService; // 이메일 인증 확인용
+    private final FileStorageService fileStorageService;   // 프로필 썸네일 조회용
+    private final TransactionTemplate tx;                  // 해시 계산 후 회원 저장용 트랜잭션
+    private final Executor writeExecutor;                  // 해시 계산 후 DB 작업용 (해시 풀은 해시만 계산)
+
+    // userId 후보 조회에 쓰는 접두어 길이 (20 - "-99999".length())
+    private static final int USER_ID_QUERY_PREFIX = 14;
+    // 동시 가입으로 userId 가 겹칠 때 재시도 횟수
+    private static final int USER_ID_MAX_ATTEMPTS = 3;
 
     // 생성자 주입 (스프링이 자동으로 넣어줌)
     public UserService(UserRepository userRepository,
-                       PasswordEncoder passwordEncoder,
-                       VerificationService verificationService) {
+                       PasswordHasher passwordHasher,
+                       VerificationService verificationService,
+                       FileStorageService fileStorageService,
+                       PlatformTransactionManager transactionManager,
+                       @Qualifier("userWriteExecutor") ThreadPoolTaskExecutor userWriteExecutor) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.verificationService = verificationService;
+        this.fileStorageService = fileStorageService;
+        this.tx = new TransactionTemplate(transactionManager);
+        // 큐가 차서 거절되면 503 (CompletionException 으로 감싸져도 Spring 이 풀어서 처리)
+        this.writeExecutor = task -> {
+            try {
+                userWriteExecutor.execute(task);
+            } catch (RejectedExecutionException e) {
+                throw new ServiceBusyException("회원가입 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+            }
+        };
     }
 
     // 유저 생성 날짜를 "yyyy-MM-dd HH:mm" 형태의 문자로 바꾸는 함수
@@ -36,83 +73,168 @@ public class UserService {
      * 로그인 기능
      * - 이메일 또는 userId 둘 다로 로그인 가능
      * - 비밀번호가 맞는지 확인 후 UserResponse 반환
+     * - 비밀번호 비교(BCrypt)는 PasswordHasher 스레드 풀에서 → 결과는 CompletableFuture
+     * - 저장된 해시의 cost 가 현재 설정과 다르면 로그인 성공 시 새 cost 로 다시 해시해서 저장
      */
-    @Transactional(readOnly = true)   // 조회만 하므로 readOnly
-    public UserResponse login(UserLoginRequest req) {
-        String key = req.userId().trim();  // 프론트에서는 여기에 이메일을 주로 넣음
+    public CompletableFuture<UserResponse> login(UserLoginRequest req) {
+        // 저장된 이메일/userId 는 모두 소문자 → 입력도 소문자로 맞춤
+        String key = req.userId().trim().toLowerCase(Locale.ROOT);  // 프론트에서는 여기에 이메일을 주로 넣음
         String reqPassword = req.password(); // 사용자가 입력한 비밀번호
 
-        // 1) 이메일로 먼저 찾고
-        // 2) 없으면 userId로 찾기
-        User u = userRepository.findByEmail(key)
-                .or(() -> userRepository.findByUserId(key))
+        // userId 에는 '@' 가 들어갈 수 없으므로 '@' 유무로 어느 컬럼인지 바로 결정
+        // → 이메일/userId 어느 쪽이든 unique 인덱스 한 번 조회로 끝
+        User u = (key.indexOf('@') >= 0
+                        ? userRepository.findByEmail(key)
+                        : userRepository.findByUserId(key))
                 .orElseThrow(() ->
                         new IllegalArgumentException("아이디(이메일) 또는 비밀번호가 올바르지 않습니다."));
 
         // 비밀번호가 맞는지 확인 (암호화된 비밀번호와 비교)
-        if (!passwordEncoder.matches(reqPassword, u.getPassword())) {
-            throw new IllegalArgumentException("아이디(이메일) 또는 비밀번호가 올바르지 않습니다.");
-        }
+        return passwordHasher.matches(reqPassword, u.getPassword()).thenApply(ok -> {
+            if (!ok) {
+                throw new IllegalArgumentException("아이디(이메일) 또는 비밀번호가 올바르지 않습니다.");
+            }
 
-        // 로그인 성공 시, 프론트에 내려줄 값 포장
-        return new UserResponse(
-                u.getId(),
-                u.getUsername(),
-                u.getUserId(),
-                u.getEmail(),
-                u.getMajor(),
-                u.getProfileImageUrl(),
-                formatCreatedAt(u) // 가입일 포맷
-        );
+            if (passwordHasher.needsRehash(u.getPassword())) {
+                rehashQuietly(u, reqPassword);
+            }
+
+            // 로그인 성공 시, 프론트에 내려줄 값 포장
+            return new UserResponse(
+                    u.getId(),
+                    u.getUsername(),
+                    u.getUserId(),
+                    u.getEmail(),
+                    u.getMajor(),
+                    u.getProfileImageUrl(),
+                    formatCreatedAt(u), // 가입일 포맷
+                    u.getProfileImageThumbUrl()
+            );
+        });
+    }
+
+    // 새 cost 로 다시 해시 (응답은 기다리지 않음, 실패해도 다음 로그인 때 다시 시도)
+    private void rehashQuietly(User u, String rawPassword) {
+        String oldHash = u.getPassword();
+        try {
+            passwordHasher.encode(rawPassword)
+                    .thenAcceptAsync(newHash -> userRepository.updatePasswordHash(u.getId(), oldHash, newHash),
+                            writeExecutor)
+                    .exceptionally(e -> {
+                        log.warn("password rehash failed for user {}: {}", u.getId(), e.getMessage());
+                        return null;
+                    });
+        } catch (RuntimeException e) {
+            // 해시 풀이 바쁘면 이번에는 건너뜀
+            log.debug("password rehash skipped for user {}: {}", u.getId(), e.getMessage());
+        }
     }
 
     /**
      * 이메일 인증이 끝난 후 실제 회원을 만드는 함수
-     * - 이메일 인증 여부 확인
      * - 이미 가입된 이메일인지 체크
      * - 이메일에서 userId 자동 생성
+     * - 비밀번호 해시는 PasswordHasher 스레드 풀에서 계산한 뒤, userWriteExecutor 에서 트랜잭션으로 저장
+     * - 인증코드 사용처리도 그 트랜잭션 안에서 → 해시 풀이 바쁘거나(503) 저장이 실패하면 코드는 그대로 남음
+     *
+     * @param verified VerificationService.check 를 통과한 코드
      */
-    @Transactional
-    public UserResponse createUserAfterEmailVerified(String email,
+    public CompletableFuture<UserResponse> createUserAfterEmailVerified(VerificationCode verified,
                                                      String username,
                                                      String rawPassword,
                                                      String major,
                                                      String profileImageUrl) {
+        // 인증 확인을 거친 코드만 받음
+        if (verified == null) {
+            throw new IllegalStateException("이메일 인증이 완료되지 않았습니다.");
+        }
+
         // 이메일, 이름 앞뒤 공백 제거 + 소문자 처리
-        String e = email == null ? null : email.trim().toLowerCase();
+        String e = verified.email().trim().toLowerCase(Locale.ROOT);
         String n = username == null ? null : username.trim();
 
         // 필수 항목 체크
-        if (e == null || n == null || rawPassword == null) {
+        if (n == null || rawPassword == null) {
             throw new IllegalArgumentException("회원가입 정보가 올바르지 않습니다.");
         }
 
-        // 이메일 인증이 실제로 완료됐는지 VerificationService에 물어봄
-        if (!verificationService.isVerified(e)) {
-            throw new IllegalStateException("이메일 인증이 완료되지 않았습니다.");
+        // 같은 이메일로 이미 가입한 사람이 있으면 에러 (해시 계산 전에 먼저 확인)
+        if (userRepository.existsByEmail(e)) {
+            throw new IllegalStateException("이미 가입된 이메일입니다.");
         }
 
-        // 같은 이메일로 이미 가입한 사람이 있으면 에러
+        return passwordHasher.encode(rawPassword)
+                .thenApplyAsync(hash -> insertWithRetry(verified, e, n, hash, major, profileImageUrl),
+                        writeExecutor);
+    }
+
+    /**
+     * 같은 userId 를 동시에 가입한 사람이 먼저 가져가면 unique 제약에 걸림
+     * → 그때만 userId 를 다시 계산해서 새 트랜잭션으로 재시도
+     * - 제약 이름은 DB 가 자동으로 지어서 알 수 없으므로, 롤백 후 다시 조회해서 어느 쪽이 겹쳤는지 판단
+     * - 같은 이메일이 먼저 가입됐으면(중복 제출 등) 재시도 없이 "이미 가입된 이메일" (409)
+     * - 둘 다 아니면 다른 제약 위반이므로 그대로 던짐
+     */
+    private UserResponse insertWithRetry(VerificationCode verified,
+                                         String e,
+                                         String n,
+                                         String passwordHash,
+                                         String major,
+                                         String profileImageUrl) {
+        for (int attempt = 1; ; attempt++) {
+            String[] triedUserId = new String[1];
+            try {
+                return tx.execute(status ->
+                        insertUser(verified, e, n, passwordHash, major, profileImageUrl, triedUserId));
+            } catch (DataIntegrityViolationException ex) {
+                if (userRepository.existsByEmail(e)) {
+                    throw new IllegalStateException("이미 가입된 이메일입니다.");
+                }
+                boolean userIdTaken = triedUserId[0] != null && userRepository.existsByUserId(triedUserId[0]);
+                if (!userIdTaken || attempt >= USER_ID_MAX_ATTEMPTS) throw ex;
+                log.debug("userId collision on sign-up for {}, retrying", e);
+            }
+        }
+    }
+
+    // 해시가 끝난 비밀번호로 실제 회원 저장 (트랜잭션 안에서 호출, 시도한 userId 는 triedUserId[0] 에 남김)
+    private UserResponse insertUser(VerificationCode verified,
+                                    String e,
+                                    String n,
+                                    String passwordHash,
+                                    String major,
+                                    String profileImageUrl,
+                                    String[] triedUserId) {
+        // 해시 계산하는 사이 같은 이메일로 가입됐을 수 있으므로 다시 확인
         if (userRepository.existsByEmail(e)) {
             throw new IllegalStateException("이미 가입된 이메일입니다.");
         }
 
         // 이메일 로컬파트(앞부분)로 userId 자동 생성
         String generatedUserId = generateUserIdFromEmail(e);
+        triedUserId[0] = generatedUserId;
 
         // 새 User 엔티티 만들기
         User user = new User();
         user.setUsername(n);
         user.setUserId(generatedUserId);
         user.setEmail(e);
-        // 비밀번호를 암호화해서 저장
-        user.setPassword(passwordEncoder.encode(rawPassword));
+        // 암호화된 비밀번호 저장
+        user.setPassword(passwordHash);
         user.setMajor(major);
         user.setProfileImageUrl(profileImageUrl);
+        // 업로드 API 로 올린 이미지면 아바타 썸네일도 같이 저장
+        user.setProfileImageThumbUrl(
+                fileStorageService.findVariants(profileImageUrl)
+                        .map(StoredImage::getAvatarUrl)
+                        .orElse(null));
 
         // DB에 저장
         User saved = userRepository.save(user);
 
+        // 저장까지 성공한 뒤 인증코드 사용처리 (이후 롤백되면 DB 저장소의 사용처리도 같이 롤백)
+        verificationService.consume(verified);
+
         // 가입된 유저 정보 응답 DTO 로 만들어 반환
         return new UserResponse(
                 saved.getId(),
@@ -121,7 +243,8 @@ public class UserService {
                 saved.getEmail(),
                 saved.getMajor(),
                 saved.getProfileImageUrl(),
-                formatCreatedAt(saved)
+                formatCreatedAt(saved),
+                saved.getProfileImageThumbUrl()
         );
     }
 
@@ -132,18 +255,30 @@ public class UserService {
      */
     private String generateUserIdFromEmail(String email) {
         // 이메일의 앞부분(local-part)만 가져옴
-        String local = email.split("@")[0].toLowerCase()
+        String local = email.split("@")[0].toLowerCase(Locale.ROOT)
                 // 영문, 숫자, ., _, - 만 허용하고 나머지는 제거
                 .replaceAll("[^a-z0-9._-]", "");
         if (local.isEmpty()) local = "user";
 
         // 20자 제한
         String base = local.length() > 20 ? local.substring(0, 20) : local;
+
+        // 후보(base, base-2, base-3 ...)는 모두 base 앞 14자로 시작 (접미사 "-99999" 까지)
+        // → 그 접두어로 시작하는 userId 를 한 번에 가져와서 메모리에서 빈 번호를 찾음
+        String prefix = base.length() > USER_ID_QUERY_PREFIX ? base.substring(0, USER_ID_QUERY_PREFIX) : base;
+        Set<String> taken = new HashSet<>(userRepository.findUserIdsStartingWith(prefix));
+        return nextFreeUserId(base, taken);
+    }
+
+    /**
+     * 이미 있는 userId 목록(taken)을 보고 base, base-2, base-3 ... 중 처음 비어 있는 값
+     */
+    static String nextFreeUserId(String base, Set<String> taken) {
         String candidate = base;
         int seq = 2;
 
         // 이미 같은 userId가 있으면 뒤에 -2, -3 등을 붙여 중복 피하기
-        while (userRepository.existsByUserId(candidate)) {
+        while (taken.contains(candidate)) {
             String suffix = "-" + seq;
             int limit = 20 - suffix.length();
             candidate = (base.length() > limit ? base.substring(0, limit) : base) + suffix;
@@ -182,7 +317,8 @@ public class UserService {
                 u.getEmail(),
                 u.getMajor(),
                 u.getProfileImageUrl(),
-                formatCreatedAt(u)
+                formatCreatedAt(u),
+                u.getProfileImageThumbUrl()
         );
     }
 }
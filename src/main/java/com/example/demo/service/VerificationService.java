@@ -1,102 +1,116 @@
 // 이메일 인증 관련 기능만 담당하는 서비스 클래스
 package com.example.demo.service;
 
-import com.example.demo.mail.GmailMailService;
+import com.example.demo.mail.MailOutboxService;
 import com.example.demo.util.SchoolEmailValidator;
-import com.example.demo.verification.EmailVerification;
-import com.example.demo.verification.EmailVerificationRepository;
+import com.example.demo.verification.VerificationCode;
+import com.example.demo.verification.VerificationCodeStore;
+import com.example.demo.verification.VerificationRateLimiter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 /**
  * 이메일 인증 전담 서비스
  *  - 인증코드 만들기
- *  - DB에 저장하기
- *  - Gmail API로 메일 보내기
+ *  - 저장소(DB 또는 메모리)에 저장하기
+ *  - 메일 발송 요청을 outbox 에 쌓기 (실제 발송은 백그라운드에서 Gmail API로)
  *  - 코드가 맞는지 / 만료됐는지 확인하기
  */
 @Service                    // 스프링이 이 클래스를 서비스로 관리하게 해줌
 @RequiredArgsConstructor    // final 필드를 자동으로 생성자에 넣어줌
 public class VerificationService {
 
-    // 이메일 인증 정보를 저장/조회하는 DB 레포지토리
-    private final EmailVerificationRepository repository;
-    // 실제 Gmail API를 사용해서 메일을 보내는 서비스
-    private final GmailMailService mailService;
+    // 인증코드 저장소 (기본 DB, 단일 서버면 메모리도 가능)
+    private final VerificationCodeStore codeStore;
+    // 메일 발송 요청을 outbox 에 쌓는 서비스 (커밋 후 백그라운드에서 발송)
+    private final MailOutboxService mailOutboxService;
     // 학교 이메일(@skuniv.ac.kr)인지 체크하는 도우미
     private final SchoolEmailValidator validator;
+    // 재발송 대기 / 요청 횟수 / 인증 실패 잠금
+    private final VerificationRateLimiter rateLimiter;
 
     // 안전한 랜덤 숫자를 뽑기 위한 도구
     private static final SecureRandom RND = new SecureRandom();
+    // 인증코드 유효 시간
+    private static final Duration CODE_TTL = Duration.ofMinutes(10);
 
     /**
      * 인증코드 보내기 요청
-     * 1) 이메일이 학교 이메일인지 확인
+     * 1) 이메일이 학교 이메일인지 확인 + 재발송 대기/요청 횟수 확인
      * 2) 6자리 랜덤 숫자 코드 만들기
-     * 3) DB에 저장 (10분 뒤에 만료되도록)
-     * 4) Gmail API로 실제 메일 보내기
+     * 3) 저장소에 저장 (10분 뒤에 만료되도록)
+     * 4) 같은 트랜잭션에서 메일 발송 요청을 outbox 에 저장
+     *    → Gmail 호출을 기다리지 않고 바로 응답, 발송/재시도는 MailOutboxSender 가 담당
      */
-    public void requestCode(String email) {
+    @Transactional
+    public void requestCode(String email, String clientIp) {
         // 학교 이메일이 아니면 에러 발생
         if (!validator.isSchoolEmail(email)) {
             throw new IllegalArgumentException("학교 이메일(@skuniv.ac.kr)만 허용됩니다.");
         }
 
+        // 같은 이메일/IP 로 너무 자주 요청하면 429 (메일 발송량 보호)
+        LocalDateTime lastIssuedAt = codeStore.findLatest(email)
+                .map(vc -> vc.expiresAt().minus(CODE_TTL))
+                .orElse(null);
+        rateLimiter.checkRequestCode(email, clientIp, lastIssuedAt);
+
         // 000000 ~ 999999 사이의 6자리 코드 생성
         String code = String.format("%06d", RND.nextInt(1_000_000));
 
-        // 새 인증코드 엔티티 만들기
-        var ev = EmailVerification.builder()
-                .email(email)                                 // 어떤 이메일인지
-                .code(code)                                  // 방금 만든 코드
-                .expiresAt(LocalDateTime.now().plusMinutes(10)) // 지금 시간 + 10분
-                .verified(false)                             // 아직 인증 안 됨
-                .build();
-
-        // DB에 저장
-        repository.save(ev);
+        // 저장 (지금 시간 + 10분 뒤 만료, 아직 인증 안 됨)
+        VerificationCode issued = codeStore.issue(email, code, LocalDateTime.now().plus(CODE_TTL));
 
-        // Gmail API를 이용해 실제 메일 보내기
-        mailService.sendVerificationCode(email, code);
+        // 메일 발송 요청 (커밋되면 백그라운드에서 발송)
+        mailOutboxService.enqueueVerificationCode(issued.key(), email, code);
     }
 
     /**
-     * 사용자가 입력한 코드가 맞는지 확인 + 사용처리까지 하기
+     * 사용자가 입력한 코드가 맞는지 확인 (아직 사용처리는 하지 않음)
      * - 가장 최근에 만든 코드만 인정
      * - 이미 사용했거나, 시간이 지나면(만료) 에러
-     * - 코드가 맞으면 verified=true 로 바꿔서 재사용 못 하게 막음
+     * - 틀린 횟수가 너무 많으면 일정 시간 잠금 (코드 무작위 대입 방지)
+     * - 사용처리는 회원 저장과 같은 트랜잭션에서 consume 으로
+     *   → 해시 풀이 바쁘거나 저장이 실패해도 코드가 남아 있어서 같은 코드로 다시 시도 가능
+     *
+     * @return 확인된 코드 (consume 에 그대로 넘김)
      */
-    public void verifyAndConsume(String email, String code) {
+    public VerificationCode check(String email, String code, String clientIp) {
+        rateLimiter.checkVerifyAllowed(email, clientIp);
+
         // 이 이메일로 가장 최근에 만든 인증코드 찾기
-        var latest = repository.findTopByEmailOrderByIdDesc(email)
+        var latest = codeStore.findLatest(email)
                 .orElseThrow(() -> new IllegalArgumentException("인증 요청 내역이 없습니다."));
 
         // 이미 이 코드로 인증을 한 적이 있으면
-        if (latest.isVerified()) throw new IllegalStateException("이미 인증 완료된 코드입니다.");
+        if (latest.verified()) throw new IllegalStateException("이미 인증 완료된 코드입니다.");
 
         // 만료 시간(expiresAt)이 현재 시간보다 전이면, 시간 지나서 사용 불가
-        if (latest.getExpiresAt().isBefore(LocalDateTime.now()))
+        if (latest.expiresAt().isBefore(LocalDateTime.now()))
             throw new IllegalArgumentException("코드가 만료되었습니다.");
 
-        // DB에 저장된 코드와 사용자가 입력한 코드가 다르면 에러
-        if (!latest.getCode().equals(code))
+        // 저장된 코드와 사용자가 입력한 코드가 다르면 에러
+        if (!latest.code().equals(code)) {
+            rateLimiter.recordVerifyFailure(email);
             throw new IllegalArgumentException("코드가 일치하지 않습니다.");
-
-        // 여기까지 통과했다는 것은 "정상적인 코드"라는 뜻 → 사용 완료 표시
-        latest.setVerified(true);
-        repository.save(latest); // 변경 내용 다시 저장
+        }
+        return latest;
     }
 
     /**
-     * 이 이메일이 현재 인증 완료 상태인지 간단히 확인하는 메서드
-     * - 회원가입 로직에서 "진짜로 인증했는지" 체크할 때 사용
+     * check 를 통과한 코드를 사용 완료로 표시 (재사용 못 하게)
+     * - 회원 저장 트랜잭션 안에서 호출 → DB 저장소면 저장이 롤백될 때 같이 롤백됨
+     * - 동시에 들어온 다른 요청이 먼저 사용했으면 에러 (호출한 트랜잭션도 롤백)
      */
-    public boolean isVerified(String email) {
-        return repository.findTopByEmailOrderByIdDesc(email)
-                .map(EmailVerification::isVerified)   // 가장 최근 코드의 verified 값 꺼내기
-                .orElse(false);                       // 기록이 없으면 false (인증 안됨)
+    public void consume(VerificationCode checked) {
+        if (!codeStore.markVerified(checked))
+            throw new IllegalStateException("이미 인증 완료된 코드입니다.");
+
+        rateLimiter.recordVerifySuccess(checked.email());
     }
 }
@@ -0,0 +1,52 @@
+package com.example.demo.storage;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Cloudinary 저장소 (운영 기본값)
+ * - File 을 넘기면 Cloudinary 클라이언트가 디스크에서 스트리밍 전송
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "cloudinary")
+public class CloudinaryStorageBackend implements StorageBackend {
+
+    private final Cloudinary cloudinary;
+
+    public CloudinaryStorageBackend(
+            @Value("${cloudinary.cloud-name}") String cloudName,
+            @Value("${cloudinary.api-key}") String apiKey,
+            @Value("${cloudinary.api-secret}") String apiSecret
+    ) {
+        this.cloudinary = new Cloudinary(ObjectUtils.asMap(
+                "cloud_name", cloudName,
+                "api_key", apiKey,
+                "api_secret", apiSecret
+        ));
+    }
+
+    @Override
+    public String store(Path file, String extension, String sha256) throws IOException {
+        Map uploadResult = cloudinary.uploader().upload(
+                file.toFile(),
+                ObjectUtils.asMap(
+                        "resource_type", "image"
+                        // 필요하면 폴더 설정도 가능:
+                        // "folder", "linku/profile"
+                )
+        );
+
+        Object url = uploadResult.get("secure_url");
+        if (url == null) {
+            throw new IllegalStateException("Cloudinary 응답에 secure_url이 없습니다.");
+        }
+        return url.toString(); // Cloudinary 절대 URL
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.storage;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 업로드 원본 내용(SHA-256) → 대표 URL 인덱스
+ * - 같은 파일을 다시 올리면 저장소 업로드 없이 기존 URL 을 돌려줌
+ */
+@Entity
+@Table(name = "image_content_hashes",
+        uniqueConstraints = @UniqueConstraint(name = "uk_image_content_sha256", columnNames = "sha256"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageContentHash {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 업로드 원본 바이트의 SHA-256 (소문자 hex 64자)
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    // 업로드 API 가 돌려준 대표 URL (StoredImage.url 과 같은 값)
+    @Column(nullable = false, length = 300)
+    private String url;
+}
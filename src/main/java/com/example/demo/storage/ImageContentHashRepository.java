@@ -0,0 +1,10 @@
+package com.example.demo.storage;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ImageContentHashRepository extends JpaRepository<ImageContentHash, Long> {
+
+    Optional<ImageContentHash> findBySha256(String sha256);
+}
@@ -0,0 +1,314 @@
+package com.example.demo.storage;
+
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 업로드 이미지 정규화 + 썸네일 생성
+ * - 픽셀만 다시 인코딩하므로 EXIF(GPS 등) 메타데이터가 모두 제거됨
+ * - 아주 큰 이미지는 디코딩 단계에서 서브샘플링해서 메모리 사용을 줄임
+ *   (디코딩 결과의 긴 변이 ORIGINAL 크기를 넘지 않음, 헤더상 픽셀 수가 MAX_PIXELS 를 넘으면 디코딩 전에 거절)
+ * - 메타데이터를 버리기 전에 JPEG EXIF 의 Orientation 을 픽셀에 적용 (세로 사진이 눕지 않게)
+ * - 투명도가 있으면 PNG, 없으면 JPEG 로 저장
+ */
+@Component
+public class ImageProcessor {
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    // 헤더에 적힌 가로*세로 상한 (작은 PNG 압축 폭탄 등으로 디코딩 시간/메모리를 잡아먹지 않게)
+    static final long MAX_PIXELS = 50_000_000L;
+
+    /** 처리 결과: 크기별 임시 파일 + 쓰면서 계산한 각 파일의 SHA-256 + 확장자 */
+    public record Processed(Map<ImageVariant, Path> files, Map<ImageVariant, String> sha256, String extension) {}
+
+    /**
+     * @throws IllegalArgumentException 픽셀 수가 MAX_PIXELS 를 넘는 이미지
+     * @return 이미지로 읽을 수 없는 파일이면 null
+     *         (ImageIO 미지원 형식, CMYK JPEG, 잘린 파일 등 디코딩 실패 포함
+     *          → 호출 쪽에서 detectFormat 으로 형식을 확인한 뒤 원본 저장 또는 거절)
+     */
+    public Processed process(Path source, Path workDir) throws IOException {
+        BufferedImage src;
+        try {
+            src = readBounded(source, ImageVariant.ORIGINAL.maxSide());
+        } catch (IOException e) {
+            return null;
+        }
+        if (src == null) return null;
+        src = applyOrientation(src, readOrientation(source));
+
+        boolean alpha = src.getColorModel().hasAlpha();
+        String ext = alpha ? "png" : "jpg";
+
+        Map<ImageVariant, Path> out = new EnumMap<>(ImageVariant.class);
+        Map<ImageVariant, String> hashes = new EnumMap<>(ImageVariant.class);
+        try {
+            for (ImageVariant v : ImageVariant.values()) {
+                BufferedImage img = resize(src, v, alpha);
+                Path f = Files.createTempFile(workDir, "variant-", "." + ext);
+                out.put(v, f);
+                hashes.put(v, write(img, f, alpha));
+            }
+        } catch (IOException | RuntimeException e) {
+            for (Path f : out.values()) Files.deleteIfExists(f);
+            throw e;
+        }
+        return new Processed(out, hashes, ext);
+    }
+
+    /**
+     * 긴 변이 maxSide 를 넘으면 디코딩 결과가 maxSide 이하가 되도록 정수 배율로 서브샘플링해서 읽음
+     * @return 디코딩에 실패하면 null
+     */
+    private BufferedImage readBounded(Path source, int maxSide) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            if (in == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                int width;
+                int height;
+                try {
+                    reader.setInput(in, true, true); // 메타데이터는 읽지 않음
+                    width = reader.getWidth(0);
+                    height = reader.getHeight(0);
+                } catch (IOException | RuntimeException e) {
+                    return null;
+                }
+                if (width <= 0 || height <= 0) return null;
+                if ((long) width * height > MAX_PIXELS) {
+                    throw new IllegalArgumentException("이미지 해상도가 너무 큽니다.");
+                }
+
+                int longSide = Math.max(width, height);
+                int step = (int) Math.ceil(longSide / (double) maxSide);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                try {
+                    return reader.read(0, param);
+                } catch (IOException | RuntimeException e) {
+                    return null;
+                }
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 파일 앞부분 시그니처(magic bytes)로 이미지 형식 판별
+     * @return "jpg" / "png" / "gif" / "webp", 그 외는 null
+     */
+    public static String detectFormat(Path source) {
+        byte[] h;
+        try (InputStream in = Files.newInputStream(source)) {
+            h = in.readNBytes(12);
+        } catch (IOException e) {
+            return null;
+        }
+        if (startsWith(h, 0, 0xFF, 0xD8, 0xFF)) return "jpg";
+        if (startsWith(h, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) return "png";
+        if (startsWith(h, 0, 'G', 'I', 'F', '8') && h.length >= 6 && (h[4] == '7' || h[4] == '9') && h[5] == 'a') {
+            return "gif";
+        }
+        if (startsWith(h, 0, 'R', 'I', 'F', 'F') && startsWith(h, 8, 'W', 'E', 'B', 'P')) return "webp";
+        return null;
+    }
+
+    private static boolean startsWith(byte[] bytes, int offset, int... expected) {
+        if (bytes.length < offset + expected.length) return false;
+        for (int i = 0; i < expected.length; i++) {
+            if ((bytes[offset + i] & 0xFF) != expected[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * JPEG 의 EXIF Orientation 값 (1~8). JPEG 이 아니거나 값이 없으면 1
+     * - 메타데이터는 ImageIO 로 읽지 않고 APP1 세그먼트만 직접 찾아서 IFD0 의 0x0112 태그만 봄
+     */
+    static int readOrientation(Path source) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (in.readUnsignedShort() != 0xFFD8) return 1; // SOI
+            while (true) {
+                int marker = in.readUnsignedShort();
+                // SOS 이후는 이미지 데이터 → EXIF 없음
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) return 1;
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) return 1;
+                if (marker == 0xFFE1) {
+                    int orientation = exifOrientation(in.readNBytes(length));
+                    if (orientation != 0) return orientation;
+                } else {
+                    in.skipNBytes(length);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * APP1 세그먼트 본문에서 Orientation 읽기
+     * @return Exif 세그먼트가 아니면 0 (XMP 등 다른 APP1 일 수 있으므로 다음 세그먼트 계속 확인)
+     */
+    private static int exifOrientation(byte[] segment) {
+        if (segment.length < 14 || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i'
+                || segment[3] != 'f' || segment[4] != 0 || segment[5] != 0) {
+            return 0;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(segment, 6, segment.length - 6).slice();
+        if (tiff.get(0) == 'I' && tiff.get(1) == 'I') {
+            tiff.order(ByteOrder.LITTLE_ENDIAN);
+        } else if (tiff.get(0) != 'M' || tiff.get(1) != 'M') {
+            return 1;
+        }
+        if (tiff.getShort(2) != 42) return 1;
+
+        int ifd = tiff.getInt(4);
+        if (ifd < 8 || ifd + 2 > tiff.limit()) return 1;
+        int count = tiff.getShort(ifd) & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > tiff.limit()) break;
+            if ((tiff.getShort(entry) & 0xFFFF) == 0x0112) {
+                int value = tiff.getShort(entry + 8) & 0xFFFF;
+                return value >= 1 && value <= 8 ? value : 1;
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * EXIF Orientation 대로 돌리거나 뒤집어서 "보이는 방향" 그대로의 픽셀로 만듦
+     * - 5~8 은 가로/세로가 바뀜
+     */
+    static BufferedImage applyOrientation(BufferedImage src, int orientation) {
+        if (orientation <= 1 || orientation > 8) return src;
+        int w = src.getWidth();
+        int h = src.getHeight();
+
+        // x' = m00*x + m01*y + m02, y' = m10*x + m11*y + m12
+        AffineTransform t = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // 좌우 반전
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // 180도
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // 상하 반전
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // 대각선 반전
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // 시계 방향 90도
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // 반대 대각선 반전
+            default -> new AffineTransform(0, -1, 1, 0, 0, w);  // 8: 반시계 방향 90도
+        };
+        boolean swap = orientation >= 5;
+        BufferedImage dst = new BufferedImage(swap ? h : w, swap ? w : h,
+                src.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = dst.createGraphics();
+        try {
+            g.drawImage(src, t, null);
+        } finally {
+            g.dispose();
+        }
+        return dst;
+    }
+
+    private BufferedImage resize(BufferedImage src, ImageVariant v, boolean alpha) {
+        int sw = src.getWidth();
+        int sh = src.getHeight();
+
+        // 아바타: 가운데 정사각형 영역만 사용
+        int cx = 0, cy = 0, cw = sw, ch = sh;
+        if (v.square()) {
+            int side = Math.min(sw, sh);
+            cx = (sw - side) / 2;
+            cy = (sh - side) / 2;
+            cw = side;
+            ch = side;
+        }
+
+        double scale = Math.min(1.0, (double) v.maxSide() / Math.max(cw, ch));
+        int tw = Math.max(1, (int) Math.round(cw * scale));
+        int th = Math.max(1, (int) Math.round(ch * scale));
+
+        BufferedImage dst = new BufferedImage(tw, th,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = dst.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(src, 0, 0, tw, th, cx, cy, cx + cw, cy + ch, null);
+        } finally {
+            g.dispose();
+        }
+        return dst;
+    }
+
+    /**
+     * 파일로 쓰면서 같은 바이트로 SHA-256 도 계산 (저장소에서 파일을 다시 읽지 않도록)
+     * @return 쓴 파일 내용의 SHA-256 (소문자 hex)
+     */
+    private String write(BufferedImage img, Path target, boolean png) throws IOException {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (OutputStream file = new DigestOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(target)), md)) {
+            if (png) {
+                if (!ImageIO.write(img, "png", file)) {
+                    throw new IOException("PNG writer 를 찾을 수 없습니다.");
+                }
+            } else {
+                writeJpeg(img, file);
+            }
+        }
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    private void writeJpeg(BufferedImage img, OutputStream target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(out);
+            // 메타데이터 없이 픽셀만 기록
+            writer.write(null, new IIOImage(img, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
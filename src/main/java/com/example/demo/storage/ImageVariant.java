@@ -0,0 +1,24 @@
+package com.example.demo.storage;
+
+/**
+ * 업로드 시 만들어 두는 이미지 크기 종류
+ * - maxSide: 긴 변 기준 최대 픽셀
+ * - square: true 면 가운데를 정사각형으로 잘라서 사용 (아바타)
+ */
+public enum ImageVariant {
+    ORIGINAL(2048, false), // 원본 대체본 (메타데이터 제거 + 크기 제한)
+    DETAIL(1080, false),   // 상세 화면
+    CARD(480, false),      // 목록 카드
+    AVATAR(160, true);     // 프로필 아바타
+
+    private final int maxSide;
+    private final boolean square;
+
+    ImageVariant(int maxSide, boolean square) {
+        this.maxSide = maxSide;
+        this.square = square;
+    }
+
+    public int maxSide() { return maxSide; }
+    public boolean square() { return square; }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.storage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * 로컬 저장소 이미지 서빙 (GET /files/{name})
+ * - 파일 이름이 곧 내용 해시 → ETag 로 사용, 1년 immutable 캐시
+ * - Range 요청: Spring 이 ResourceRegion 으로 206 부분 응답 처리
+ * - 전체 요청: Tomcat sendfile 이 가능하면 커널 zero-copy 로 전송
+ * - 같은 출처에서 서빙하므로 nosniff 를 붙이고, jpg/png/gif/webp 가 아니면 attachment 로 내려보냄
+ *   (예전에 저장된 파일이 html/svg 여도 브라우저가 페이지로 렌더링하지 않게)
+ */
+@RestController
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalFileController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final Set<MediaType> INLINE_TYPES = Set.of(
+            MediaType.IMAGE_JPEG,
+            MediaType.IMAGE_PNG,
+            MediaType.IMAGE_GIF,
+            MediaType.parseMediaType("image/webp")
+    );
+
+    private final LocalStorageBackend storage;
+
+    public LocalFileController(LocalStorageBackend storage) {
+        this.storage = storage;
+    }
+
+    @GetMapping("/files/{name:.+}")
+    public ResponseEntity<Resource> serve(@PathVariable String name,
+                                          WebRequest webRequest,
+                                          HttpServletRequest request) throws IOException {
+        Path path = storage.resolve(name);
+        if (path == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String etag = "\"" + name.substring(0, name.lastIndexOf('.')) + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified (Spring 이 응답 처리)
+        }
+
+        MediaType type = MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        CacheControl cache = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cache)
+                .contentType(type)
+                .header("X-Content-Type-Options", "nosniff");
+        if (!INLINE_TYPES.contains(type)) {
+            ok.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().build().toString());
+        }
+
+        // Range 가 없고 Tomcat 이 sendfile 을 지원하면 → 본문은 Tomcat 이 직접 전송
+        if (request.getHeader(HttpHeaders.RANGE) == null
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            long length = Files.size(path);
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return ok
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .contentLength(length)
+                    .build();
+        }
+
+        // 그 외: Resource 로 넘기면 Range 헤더에 맞춰 206/ResourceRegion 처리
+        return ok.body(new FileSystemResource(path));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.demo.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * 로컬 디스크 저장소 (app.upload.dir)
+ * - 내용 기반 경로: {dir}/{sha256 앞 2글자}/{sha256}.{ext}
+ *   → 같은 내용은 같은 파일, 파일 내용이 바뀌지 않으므로 ETag/캐시가 단순해짐
+ * - 해시는 호출한 쪽이 파일을 쓰면서 계산한 값을 그대로 사용 (없을 때만 파일을 다시 읽어서 계산)
+ * - 예전(로컬 파일 시절)에 {dir}/{uuid}.{ext} 로 저장된 파일도 그대로 서빙
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalStorageBackend implements StorageBackend {
+
+    // 새 형식: sha256(64자) + 확장자
+    private static final Pattern HASHED_NAME = Pattern.compile("^([a-f0-9]{64})\\.([a-z0-9]{1,5})$");
+    private static final Pattern SHA256_HEX = Pattern.compile("^[a-f0-9]{64}$");
+    // 예전 형식: uuid(32자) + 확장자
+    private static final Pattern LEGACY_NAME = Pattern.compile("^[a-f0-9]{32}\\.[a-z0-9]{1,5}$");
+
+    private final Path root;
+    private final String publicBaseUrl;
+
+    public LocalStorageBackend(
+            @Value("${app.upload.dir:uploads}") String uploadDir,
+            @Value("${app.storage.public-base-url:}") String publicBaseUrl
+    ) {
+        this.root = Path.of(uploadDir).toAbsolutePath().normalize();
+        this.publicBaseUrl = publicBaseUrl;
+    }
+
+    @Override
+    public String store(Path file, String extension, String sha256) throws IOException {
+        String ext = (extension == null || extension.isBlank()) ? "bin" : extension;
+        String hash = (sha256 != null && SHA256_HEX.matcher(sha256).matches()) ? sha256 : sha256Hex(file);
+        String name = hash + "." + ext;
+        Path target = pathFor(name);
+
+        // 이미 같은 내용이 있으면 그대로 재사용
+        if (!Files.exists(target)) {
+            Files.createDirectories(target.getParent());
+            Path staging = Files.createTempFile(target.getParent(), "staging-", ".tmp");
+            try {
+                // 임시 파일을 옮겨서 한 번 더 쓰지 않도록 함 (다른 디스크면 복사로 대체됨)
+                Files.move(file, staging, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // 동시에 같은 내용이 올라온 경우 → 먼저 저장된 것 사용
+            } finally {
+                Files.deleteIfExists(staging);
+            }
+        }
+        return publicBaseUrl + "/files/" + name;
+    }
+
+    /**
+     * URL 의 파일 이름을 실제 디스크 경로로 변환 (형식이 안 맞거나 없으면 null)
+     * - 정해진 패턴만 허용하므로 ../ 같은 경로 조작은 불가능
+     */
+    public Path resolve(String name) {
+        if (name == null) return null;
+        Path p;
+        if (HASHED_NAME.matcher(name).matches()) {
+            p = pathFor(name);
+        } else if (LEGACY_NAME.matcher(name).matches()) {
+            p = root.resolve(name);
+        } else {
+            return null;
+        }
+        return Files.isRegularFile(p) ? p : null;
+    }
+
+    private Path pathFor(String hashedName) {
+        return root.resolve(hashedName.substring(0, 2)).resolve(hashedName);
+    }
+
+    private static String sha256Hex(Path file) throws IOException {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buf = new byte[64 * 1024];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                md.update(buf, 0, n);
+            }
+        }
+        return HexFormat.of().formatHex(md.digest());
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demo.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 업로드된 이미지를 실제로 보관하는 저장소
+ * - app.storage.type 값(cloudinary / local)에 따라 구현체가 하나만 등록됨
+ */
+public interface StorageBackend {
+
+    /**
+     * 디스크에 받아 둔 업로드 파일을 저장소에 올리고, 클라이언트가 쓸 URL 을 반환
+     *
+     * @param file      FileStorageService 가 만든 임시 파일 (저장소가 옮겨 가도 되고, 남으면 호출한 쪽에서 정리)
+     * @param extension 소문자 확장자 (예: "jpg"), 모르면 null
+     * @param sha256    file 내용의 SHA-256 (소문자 hex). 호출한 쪽이 쓰면서 이미 계산한 값,
+     *                  모르면 null (필요한 구현체만 파일을 다시 읽어서 계산)
+     */
+    String store(Path file, String extension, String sha256) throws IOException;
+}
@@ -0,0 +1,36 @@
+package com.example.demo.storage;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 업로드된 이미지의 크기별 URL 모음
+ * - url: 업로드 API 가 돌려준 대표 URL (게시글/프로필에 저장되는 값)
+ * - 게시글/프로필 저장 시 url 로 찾아서 썸네일 URL 을 함께 저장
+ */
+@Entity
+@Table(name = "stored_images",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stored_image_url", columnNames = "url"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredImage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 300)
+    private String url;
+
+    @Column(length = 300)
+    private String detailUrl;
+
+    @Column(length = 300)
+    private String cardUrl;
+
+    @Column(length = 300)
+    private String avatarUrl;
+}
@@ -0,0 +1,15 @@
+package com.example.demo.storage;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StoredImageRepository extends JpaRepository<StoredImage, Long> {
+
+    Optional<StoredImage> findByUrl(String url);
+
+    // 상세 화면: 여러 장 이미지의 썸네일을 한 번에 조회
+    List<StoredImage> findByUrlIn(Collection<String> urls);
+}
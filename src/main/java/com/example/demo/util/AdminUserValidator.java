@@ -0,0 +1,28 @@
+package com.example.demo.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 관리자 전용 API 를 호출할 수 있는 userId 목록 (app.admin.user-ids, 콤마 구분)
+ */
+@Component
+public class AdminUserValidator {
+
+    private final Set<String> adminUserIds;
+
+    public AdminUserValidator(@Value("${app.admin.user-ids:}") String adminUserIds) {
+        this.adminUserIds = Arrays.stream(adminUserIds.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public boolean isAdmin(String userId) {
+        return userId != null && adminUserIds.contains(userId);
+    }
+}
@@ -6,6 +6,12 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        // 최근 코드 조회: where email = ? order by id desc limit 1
+        @Index(name = "idx_email_verification_email_id", columnList = "email,id"),
+        // 만료 코드 정리
+        @Index(name = "idx_email_verification_expires", columnList = "expiresAt")
+})
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class EmailVerification {
@@ -1,9 +1,31 @@
 package com.example.demo.verification;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface EmailVerificationRepository extends JpaRepository<EmailVerification, Long> {
     Optional<EmailVerification> findTopByEmailOrderByIdDesc(String email);
+
+    // 아직 안 쓴 코드만 사용 완료로 변경 (동시에 두 번 인증되는 것 방지)
+    @Modifying
+    @Transactional
+    @Query("update EmailVerification v set v.verified = true where v.id = :id and v.verified = false")
+    int markVerified(@Param("id") Long id);
+
+    // 정리 대상: cutoff 이전에 만료된 코드 (사용 완료 포함)
+    @Query("select v.id from EmailVerification v where v.expiresAt < :cutoff order by v.id")
+    List<Long> findExpiredIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // 회원 탈퇴 시 인증 기록 삭제
+    @Modifying
+    @Query("delete from EmailVerification v where v.email = :email")
+    int bulkDeleteByEmail(@Param("email") String email);
 }
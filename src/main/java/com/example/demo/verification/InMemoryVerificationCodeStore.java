@@ -0,0 +1,106 @@
+package com.example.demo.verification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 메모리 인증코드 저장소 (단일 서버 배포용, app.verification.store=memory)
+ * - 이메일 해시로 나눈 stripe 마다 락 하나 → 서로 다른 이메일은 거의 경합하지 않음
+ * - stripe 안은 발급 순서 LinkedHashMap: 유효 시간이 모두 같으므로 앞쪽이 가장 먼저 만료됨
+ *   → 만료 정리는 앞에서부터 만료된 것만 떼어내면 끝 (전체 스캔 없음)
+ * - 서버가 재시작되면 발급된 코드는 사라짐 (다시 요청하면 됨)
+ */
+@Component
+@ConditionalOnProperty(name = "app.verification.store", havingValue = "memory")
+public class InMemoryVerificationCodeStore implements VerificationCodeStore {
+
+    private static final int STRIPES = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final long retentionMinutes;
+
+    public InMemoryVerificationCodeStore(@Value("${app.verification.retention-minutes:60}") long retentionMinutes) {
+        this.retentionMinutes = retentionMinutes;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public VerificationCode issue(String email, String code, LocalDateTime expiresAt) {
+        VerificationCode vc = new VerificationCode(UUID.randomUUID().toString(), email, code, expiresAt, false);
+        Stripe s = stripeFor(email);
+        synchronized (s) {
+            s.evictExpired(cutoff());
+            // 다시 발급하면 맨 뒤로 보내서 발급 순서 유지
+            s.byEmail.remove(email);
+            s.byEmail.put(email, vc);
+        }
+        return vc;
+    }
+
+    @Override
+    public Optional<VerificationCode> findLatest(String email) {
+        Stripe s = stripeFor(email);
+        synchronized (s) {
+            return Optional.ofNullable(s.byEmail.get(email));
+        }
+    }
+
+    @Override
+    public boolean markVerified(VerificationCode code) {
+        Stripe s = stripeFor(code.email());
+        synchronized (s) {
+            VerificationCode current = s.byEmail.get(code.email());
+            if (current == null || !current.key().equals(code.key()) || current.verified()) {
+                return false;
+            }
+            // 기존 키 덮어쓰기는 순서를 바꾸지 않음
+            s.byEmail.put(code.email(), new VerificationCode(
+                    current.key(), current.email(), current.code(), current.expiresAt(), true));
+            return true;
+        }
+    }
+
+    /**
+     * 요청이 없는 stripe 도 주기적으로 정리
+     */
+    @Scheduled(fixedDelayString = "${app.verification.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = cutoff();
+        for (Stripe s : stripes) {
+            synchronized (s) {
+                s.evictExpired(cutoff);
+            }
+        }
+    }
+
+    private LocalDateTime cutoff() {
+        return LocalDateTime.now().minusMinutes(retentionMinutes);
+    }
+
+    private Stripe stripeFor(String email) {
+        return stripes[(email.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    private static final class Stripe {
+        private final LinkedHashMap<String, VerificationCode> byEmail = new LinkedHashMap<>();
+
+        void evictExpired(LocalDateTime cutoff) {
+            Iterator<Map.Entry<String, VerificationCode>> it = byEmail.entrySet().iterator();
+            while (it.hasNext()) {
+                if (!it.next().getValue().expiresAt().isBefore(cutoff)) break;
+                it.remove();
+            }
+        }
+    }
+}
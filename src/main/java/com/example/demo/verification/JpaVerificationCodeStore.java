@@ -0,0 +1,85 @@
+package com.example.demo.verification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * DB(email_verification) 인증코드 저장소
+ * - 최근 코드 조회는 (email, id) 인덱스로 바로 찾음
+ * - 만료 후 retention 이 지난 행(사용 완료 포함)은 batchSize 개씩 나눠서 삭제
+ */
+@Component
+@ConditionalOnProperty(name = "app.verification.store", havingValue = "jpa", matchIfMissing = true)
+@Slf4j
+public class JpaVerificationCodeStore implements VerificationCodeStore {
+
+    private final EmailVerificationRepository repository;
+    private final long retentionMinutes;
+    private final int purgeBatchSize;
+    private final int purgeMaxBatches;
+
+    public JpaVerificationCodeStore(EmailVerificationRepository repository,
+                                    @Value("${app.verification.retention-minutes:60}") long retentionMinutes,
+                                    @Value("${app.verification.purge-batch-size:500}") int purgeBatchSize,
+                                    @Value("${app.verification.purge-max-batches:20}") int purgeMaxBatches) {
+        this.repository = repository;
+        this.retentionMinutes = retentionMinutes;
+        this.purgeBatchSize = purgeBatchSize;
+        this.purgeMaxBatches = purgeMaxBatches;
+    }
+
+    @Override
+    public VerificationCode issue(String email, String code, LocalDateTime expiresAt) {
+        EmailVerification saved = repository.save(EmailVerification.builder()
+                .email(email)
+                .code(code)
+                .expiresAt(expiresAt)
+                .verified(false)
+                .build());
+        return toCode(saved);
+    }
+
+    @Override
+    public Optional<VerificationCode> findLatest(String email) {
+        return repository.findTopByEmailOrderByIdDesc(email).map(JpaVerificationCodeStore::toCode);
+    }
+
+    @Override
+    public boolean markVerified(VerificationCode code) {
+        return repository.markVerified(Long.valueOf(code.key())) == 1;
+    }
+
+    /**
+     * 만료된 인증코드 정리
+     * - 한 번에 purgeBatchSize 개씩만 지워서 긴 락/큰 트랜잭션을 만들지 않음
+     * - 한 주기에 최대 purgeMaxBatches 번, 남은 건 다음 주기에
+     */
+    @Scheduled(fixedDelayString = "${app.verification.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        int total = 0;
+        for (int i = 0; i < purgeMaxBatches; i++) {
+            List<Long> ids = repository.findExpiredIds(cutoff, PageRequest.of(0, purgeBatchSize));
+            if (ids.isEmpty()) break;
+            repository.deleteAllByIdInBatch(ids);
+            total += ids.size();
+            if (ids.size() < purgeBatchSize) break;
+        }
+        if (total > 0) {
+            log.info("만료된 인증코드 {}건 삭제", total);
+        }
+    }
+
+    private static VerificationCode toCode(EmailVerification ev) {
+        return new VerificationCode(
+                String.valueOf(ev.getId()), ev.getEmail(), ev.getCode(), ev.getExpiresAt(), ev.isVerified());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.verification;
+
+import java.time.LocalDateTime;
+
+/**
+ * 저장소에 상관없이 다루는 인증코드 한 건
+ *
+ * @param key 발급 건 식별자 (DB 저장소: EmailVerification.id, 메모리 저장소: 랜덤 UUID)
+ */
+public record VerificationCode(
+        String key,
+        String email,
+        String code,
+        LocalDateTime expiresAt,
+        boolean verified
+) {}
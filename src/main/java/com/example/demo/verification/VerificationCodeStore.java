@@ -0,0 +1,27 @@
+package com.example.demo.verification;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 인증코드 저장소
+ * - jpa (기본): email_verification 테이블, 만료된 행은 주기적으로 배치 삭제
+ * - memory: 단일 서버 배포용 메모리 저장소 (app.verification.store=memory)
+ */
+public interface VerificationCodeStore {
+
+    /**
+     * 새 코드 저장 (이전 코드는 더 이상 인정되지 않음)
+     */
+    VerificationCode issue(String email, String code, LocalDateTime expiresAt);
+
+    /**
+     * 이 이메일로 가장 최근에 발급한 코드
+     */
+    Optional<VerificationCode> findLatest(String email);
+
+    /**
+     * 아직 사용되지 않은 코드면 사용 완료로 바꾸고 true (동시에 두 번 사용되는 것 방지)
+     */
+    boolean markVerified(VerificationCode code);
+}
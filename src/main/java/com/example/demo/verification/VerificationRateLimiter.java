@@ -0,0 +1,108 @@
+package com.example.demo.verification;
+
+import com.example.demo.exception.TooManyRequestsException;
+import com.example.demo.ratelimit.RateLimitStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * 이메일 인증 남용 방지
+ * - 코드 요청: 같은 이메일 재발송 대기(cooldown, 마지막 발급 시각 기준) + 이메일/IP 별 시간당 횟수 제한
+ * - 코드 확인: 이메일별 실패 횟수가 넘으면 잠금 만료 시각을 따로 저장해서 lockout 시간 동안 정확히 잠금
+ *   + IP 별 시도 횟수 제한
+ * - 한도를 넘으면 TooManyRequestsException (429)
+ */
+@Component
+public class VerificationRateLimiter {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    private final RateLimitStore store;
+
+    private final Duration resendCooldown;
+    private final int requestsPerEmailPerHour;
+    private final int requestsPerIpPerHour;
+    private final int maxVerifyFailures;
+    private final Duration verifyLockout;
+    private final int verifyAttemptsPerIp;
+
+    public VerificationRateLimiter(
+            RateLimitStore store,
+            @Value("${app.rate-limit.request-code.cooldown-seconds:60}") long cooldownSeconds,
+            @Value("${app.rate-limit.request-code.per-email-per-hour:5}") int requestsPerEmailPerHour,
+            @Value("${app.rate-limit.request-code.per-ip-per-hour:30}") int requestsPerIpPerHour,
+            @Value("${app.rate-limit.verify.max-failures:5}") int maxVerifyFailures,
+            @Value("${app.rate-limit.verify.lockout-minutes:10}") long lockoutMinutes,
+            @Value("${app.rate-limit.verify.per-ip-per-lockout:50}") int verifyAttemptsPerIp
+    ) {
+        this.store = store;
+        this.resendCooldown = Duration.ofSeconds(cooldownSeconds);
+        this.requestsPerEmailPerHour = requestsPerEmailPerHour;
+        this.requestsPerIpPerHour = requestsPerIpPerHour;
+        this.maxVerifyFailures = maxVerifyFailures;
+        this.verifyLockout = Duration.ofMinutes(lockoutMinutes);
+        this.verifyAttemptsPerIp = verifyAttemptsPerIp;
+    }
+
+    /**
+     * 인증코드 요청 1회 기록 + 한도 확인
+     *
+     * @param lastIssuedAt 이 이메일로 마지막 코드를 발급한 시각 (없으면 null)
+     */
+    public void checkRequestCode(String email, String ip, LocalDateTime lastIssuedAt) {
+        if (lastIssuedAt != null) {
+            LocalDateTime allowedAt = lastIssuedAt.plus(resendCooldown);
+            LocalDateTime now = LocalDateTime.now();
+            if (now.isBefore(allowedAt)) {
+                long wait = Math.max(1, Duration.between(now, allowedAt).toSeconds());
+                throw new TooManyRequestsException(
+                        "인증코드는 " + wait + "초 후에 다시 요청할 수 있습니다.", wait);
+            }
+        }
+        if (store.hit("code-email:" + key(email), HOUR) > requestsPerEmailPerHour
+                || (ip != null && store.hit("code-ip:" + ip, HOUR) > requestsPerIpPerHour)) {
+            throw new TooManyRequestsException(
+                    "인증코드 요청이 너무 많습니다. 잠시 후 다시 시도해주세요.", HOUR.toSeconds());
+        }
+    }
+
+    /**
+     * 인증 시도 전: 잠금 상태인지 확인 (IP 별 시도는 여기서 1회 기록)
+     */
+    public void checkVerifyAllowed(String email, String ip) {
+        Duration locked = store.lockRemaining("verify-lock:" + key(email));
+        if (!locked.isZero()) {
+            long wait = Math.max(1, (locked.toMillis() + 999) / 1000);
+            throw new TooManyRequestsException(
+                    "인증 실패가 너무 많습니다. " + Math.max(1, (wait + 59) / 60) + "분 후에 다시 시도해주세요.",
+                    wait);
+        }
+        if (ip != null && store.hit("verify-ip:" + ip, verifyLockout) > verifyAttemptsPerIp) {
+            throw new TooManyRequestsException(
+                    "인증 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.", verifyLockout.toSeconds());
+        }
+    }
+
+    /** 코드 불일치 1회 기록 (한도에 닿으면 잠그고, 잠금이 끝나면 실패 횟수는 처음부터) */
+    public void recordVerifyFailure(String email) {
+        String k = key(email);
+        if (store.hit("verify-fail:" + k, verifyLockout) >= maxVerifyFailures) {
+            store.lock("verify-lock:" + k, verifyLockout);
+            store.reset("verify-fail:" + k);
+        }
+    }
+
+    // 대소문자/공백만 다른 이메일로 한도를 우회하지 못하게
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** 인증 성공 → 실패 횟수 초기화 */
+    public void recordVerifySuccess(String email) {
+        store.reset("verify-fail:" + key(email));
+    }
+}
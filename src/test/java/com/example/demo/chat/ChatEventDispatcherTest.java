@@ -0,0 +1,124 @@
+package com.example.demo.chat;
+
+import com.example.demo.chat.dto.ChatMessageDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ChatEventDispatcherTest {
+
+    private static final long ROOM_ID = 10L;
+
+    private SimpMessagingTemplate template;
+    private ThreadPoolTaskExecutor executor;
+    private ChatEventDispatcher dispatcher;
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        template = mock(SimpMessagingTemplate.class);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.initialize();
+        // 받는 사람이 접속해 있지 않은 것으로 (getUser → null) → 목록 갱신 알림은 건너뜀
+        dispatcher = new ChatEventDispatcher(template, mock(SimpUserRegistry.class),
+                mock(ChatService.class), mock(LinkuService.class), executor);
+        tx = new TransactionTemplate(new NoOpTransactionManager());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void rolledBackTransactionSendsNothing() {
+        tx.executeWithoutResult(status -> {
+            dispatcher.onMessageSaved(saved(1L));
+            dispatcher.onMessageSaved(saved(2L));
+            status.setRollbackOnly();
+        });
+
+        verify(template, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void committedMessagesAreSentAfterCommitInOrder() {
+        tx.executeWithoutResult(status -> {
+            dispatcher.onMessageSaved(saved(1L));
+            dispatcher.onMessageSaved(saved(2L));
+            // 커밋 전에는 아무것도 나가지 않음
+            verify(template, never()).convertAndSend(anyString(), any(Object.class));
+        });
+        tx.executeWithoutResult(status -> dispatcher.onMessageSaved(saved(3L)));
+
+        ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+        verify(template, times(3)).convertAndSend(eq("/topic/chat.room." + ROOM_ID),
+                payloads.capture());
+        List<Long> ids = payloads.getAllValues().stream()
+                .map(p -> ((ChatMessageDto) p).getId())
+                .toList();
+        assertEquals(List.of(1L, 2L, 3L), ids);
+    }
+
+    @Test
+    void messageOutsideTransactionIsSentImmediately() {
+        dispatcher.onMessageSaved(saved(7L));
+
+        verify(template).convertAndSend(eq("/topic/chat.room." + ROOM_ID),
+                any(ChatMessageDto.class));
+    }
+
+    private static ChatMessageSavedEvent saved(Long id) {
+        ChatMessage m = new ChatMessage();
+        m.setId(id);
+        m.setRoomId(ROOM_ID);
+        m.setSenderId(1L);
+        m.setReceiverId(2L);
+        m.setContent("hi " + id);
+        m.setCreatedAt(Instant.now());
+        m.setKind(ChatMessage.MessageKind.TEXT);
+        return new ChatMessageSavedEvent(m, null);
+    }
+
+    /** DB 없이 트랜잭션 동기화(afterCommit / afterCompletion)만 돌려 주는 트랜잭션 매니저 */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
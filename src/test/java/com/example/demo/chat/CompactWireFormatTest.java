@@ -0,0 +1,50 @@
+package com.example.demo.chat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactWireFormatTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final CompactWireFormat format = new CompactWireFormat(mapper);
+
+    @Test
+    void shortensKnownFieldsAndTimestamps() throws Exception {
+        String json = """
+                {"id":7,"roomId":3,"senderId":1,"receiverId":2,"content":"hi",
+                 "createdAt":"2024-05-01T09:30:00Z","kind":"TEXT","linkuId":null,"linkuStatus":null}
+                """;
+
+        byte[] compact = format.encode(json.getBytes(StandardCharsets.UTF_8));
+        JsonNode out = mapper.readTree(compact);
+
+        assertEquals(7, out.get("i").asLong());
+        assertEquals(3, out.get("r").asLong());
+        assertEquals("hi", out.get("c").asText());
+        assertEquals(1714555800000L, out.get("t").asLong());
+        // null 은 생략
+        assertFalse(out.has("l"));
+        assertFalse(out.has("ls"));
+        assertTrue(compact.length < json.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void keepsUnknownFieldsAndNestedStructure() throws Exception {
+        String json = """
+                {"roomId":3,"lastMessage":{"content":"x","createdAt":"not-a-time"},"extra":[{"unread":2}]}
+                """;
+
+        JsonNode out = mapper.readTree(format.encode(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("x", out.get("lm").get("c").asText());
+        assertEquals("not-a-time", out.get("lm").get("t").asText());
+        assertEquals(2, out.get("extra").get(0).get("u").asInt());
+    }
+}
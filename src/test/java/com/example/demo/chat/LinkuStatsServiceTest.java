@@ -0,0 +1,149 @@
+package com.example.demo.chat;
+
+import com.example.demo.chat.LinkuConnection.LinkuStatus;
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LinkuStatsServiceTest {
+
+    private UserLinkuStatsRepository statsRepository;
+    private LinkuConnectionRepository connectionRepository;
+    private LinkuReviewRepository reviewRepository;
+    private LinkuStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        statsRepository = mock(UserLinkuStatsRepository.class);
+        connectionRepository = mock(LinkuConnectionRepository.class);
+        reviewRepository = mock(LinkuReviewRepository.class);
+        service = new LinkuStatsService(statsRepository, connectionRepository, reviewRepository,
+                mock(UserRepository.class), mock(PlatformTransactionManager.class), 500);
+    }
+
+    @Test
+    void acceptingAddsAcceptedAndOngoingToBothSides() {
+        LinkuConnection conn = connection(1L, 2L, LinkuStatus.ACCEPTED, false);
+
+        service.onConnectionChanged(conn, LinkuStatus.PENDING, false);
+
+        verify(statsRepository).addDelta(1L, 0, 0, 1, 1);
+        verify(statsRepository).addDelta(2L, 0, 0, 1, 1);
+    }
+
+    @Test
+    void completingOnlyDecrementsOngoing() {
+        LinkuConnection conn = connection(1L, 2L, LinkuStatus.ACCEPTED, true);
+
+        service.onConnectionChanged(conn, LinkuStatus.ACCEPTED, false);
+
+        verify(statsRepository).addDelta(1L, 0, 0, -1, 0);
+        verify(statsRepository).addDelta(2L, 0, 0, -1, 0);
+    }
+
+    @Test
+    void rejectingAPendingRequestChangesNothing() {
+        LinkuConnection conn = connection(1L, 2L, LinkuStatus.REJECTED, false);
+
+        service.onConnectionChanged(conn, LinkuStatus.PENDING, false);
+
+        verify(statsRepository, never()).addDelta(anyLong(), anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void deltaForMissingRowIsSkippedWithoutCreatingIt() {
+        when(statsRepository.addDelta(anyLong(), anyLong(), anyLong(), anyLong(), anyLong())).thenReturn(0);
+        LinkuReview review = new LinkuReview();
+        review.setTarget(user(7L));
+        review.setKindnessScore(4);
+
+        service.onReviewAdded(review);
+
+        verify(statsRepository).addDelta(7L, 1, 4, 0, 0);
+        verify(statsRepository, never()).saveAndFlush(any());
+        verify(statsRepository, never()).save(any());
+    }
+
+    @Test
+    void rebuildOverwritesExistingRowsAndCreatesMissingOnes() {
+        UserLinkuStats stale = new UserLinkuStats(1L, 9, 45, 9, 9);
+        when(statsRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(stale));
+        when(reviewRepository.sumByTargetIdIn(List.of(1L, 2L))).thenReturn(List.of(targetSum(1L, 2, 9)));
+        when(connectionRepository.countAcceptedAsRequester(List.of(1L, 2L)))
+                .thenReturn(List.of(sideCount(1L, 1, 1), sideCount(2L, 3, 0)));
+        when(connectionRepository.countAcceptedAsTarget(List.of(1L, 2L)))
+                .thenReturn(List.of(sideCount(1L, 2, 0)));
+
+        service.rebuild(List.of(1L, 2L));
+
+        assertEquals(2, stale.getReviewCount());
+        assertEquals(9, stale.getKindnessSum());
+        assertEquals(3, stale.getAcceptedCount());
+        assertEquals(1, stale.getOngoingCount());
+        ArgumentCaptor<UserLinkuStats> created = ArgumentCaptor.forClass(UserLinkuStats.class);
+        verify(statsRepository).save(created.capture());
+        assertEquals(2L, created.getValue().getUserId());
+        assertEquals(0, created.getValue().getReviewCount());
+        assertEquals(3, created.getValue().getAcceptedCount());
+        assertEquals(0, created.getValue().getOngoingCount());
+    }
+
+    @Test
+    void concurrentFirstReadRereadsTheWinnersRow() {
+        UserLinkuStats winner = new UserLinkuStats(5L, 1, 5, 0, 1);
+        when(statsRepository.findById(5L))
+                .thenReturn(Optional.empty())      // get()
+                .thenReturn(Optional.empty())      // createFromSource 트랜잭션 안
+                .thenReturn(Optional.of(winner));  // 충돌 후 새 트랜잭션에서 다시 읽기
+        when(statsRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("dup"));
+
+        assertSame(winner, service.get(5L));
+    }
+
+    private static LinkuConnection connection(Long requesterId, Long targetId, LinkuStatus status, boolean completed) {
+        LinkuConnection conn = new LinkuConnection();
+        conn.setRequester(user(requesterId));
+        conn.setTarget(user(targetId));
+        conn.setStatus(status);
+        conn.setCompleted(completed);
+        return conn;
+    }
+
+    private static User user(Long id) {
+        User u = new User();
+        u.setId(id);
+        return u;
+    }
+
+    private static LinkuReviewRepository.TargetSum targetSum(Long userId, long reviews, long kindness) {
+        return new LinkuReviewRepository.TargetSum() {
+            @Override public Long getUserId() { return userId; }
+            @Override public long getReviews() { return reviews; }
+            @Override public long getKindness() { return kindness; }
+        };
+    }
+
+    private static LinkuConnectionRepository.SideCount sideCount(Long userId, long accepted, long ongoing) {
+        return new LinkuConnectionRepository.SideCount() {
+            @Override public Long getUserId() { return userId; }
+            @Override public long getAccepted() { return accepted; }
+            @Override public long getOngoing() { return ongoing; }
+        };
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.demo.chat;
+
+import com.example.demo.chat.dto.PresenceEventRes;
+import com.example.demo.chat.dto.TypingEventRes;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PresenceRegistryTest {
+
+    private static final String TYPING_TOPIC = "/topic/typing.room.5";
+
+    private final SimpMessagingTemplate template = mock(SimpMessagingTemplate.class);
+
+    @Test
+    void alternatingTypingEventsAreRateLimited() {
+        PresenceRegistry registry = new PresenceRegistry(template, 60_000);
+        join(registry, "s1", 1L, 5L);
+
+        registry.typing("s1", 5L, true);
+        registry.typing("s1", 5L, false);
+        registry.typing("s1", 5L, true);
+        registry.typing("s1", 5L, false);
+
+        List<TypingEventRes> sent = typingEvents();
+        assertEquals(1, sent.size());
+        assertTrue(sent.get(0).isTyping());
+    }
+
+    @Test
+    void stopIsForwardedOnlyAfterAStart() {
+        PresenceRegistry registry = new PresenceRegistry(template, 0);
+        join(registry, "s1", 1L, 5L);
+
+        registry.typing("s1", 5L, false);   // 시작한 적 없음 → 무시
+        registry.typing("s1", 5L, true);
+        registry.typing("s1", 5L, false);
+        registry.typing("s1", 5L, false);   // 이미 멈춤 → 무시
+
+        List<TypingEventRes> sent = typingEvents();
+        assertEquals(2, sent.size());
+        assertTrue(sent.get(0).isTyping());
+        assertFalse(sent.get(1).isTyping());
+        assertEquals(1L, sent.get(1).getUserId());
+    }
+
+    @Test
+    void typingForARoomTheSessionHasNotJoinedIsIgnored() {
+        PresenceRegistry registry = new PresenceRegistry(template, 0);
+        join(registry, "s1", 1L, 5L);
+
+        registry.typing("s1", 6L, true);
+        registry.typing("unknown", 5L, true);
+
+        verify(template, never()).convertAndSend(eq("/topic/typing.room.6"), any(Object.class));
+        verify(template, never()).convertAndSend(eq(TYPING_TOPIC), any(Object.class));
+    }
+
+    @Test
+    void leavingWhileTypingSendsStop() {
+        PresenceRegistry registry = new PresenceRegistry(template, 60_000);
+        join(registry, "s1", 1L, 5L);
+        registry.typing("s1", 5L, true);
+
+        registry.onUnsubscribe(new SessionUnsubscribeEvent(this,
+                stomp(StompCommand.UNSUBSCRIBE, "s1", "sub-5", null, user(1L)), user(1L)));
+
+        List<TypingEventRes> sent = typingEvents();
+        assertEquals(2, sent.size());
+        assertFalse(sent.get(1).isTyping());
+    }
+
+    @Test
+    void presenceCountsAUserOnceAcrossSessions() {
+        PresenceRegistry registry = new PresenceRegistry(template, 0);
+        join(registry, "a1", 1L, 5L);
+        join(registry, "a2", 1L, 5L);
+        join(registry, "b1", 2L, 5L);
+        assertEquals(List.of(1L, 2L), registry.snapshot(5L).getUserIds());
+
+        disconnect(registry, "a1", 1L);
+        assertEquals(List.of(1L, 2L), registry.snapshot(5L).getUserIds());
+
+        disconnect(registry, "a2", 1L);
+        assertEquals(List.of(2L), registry.snapshot(5L).getUserIds());
+
+        // 1 입장, 2 입장, 1 퇴장 → 세 번만 방송 (두 번째 탭 입장/첫 탭 퇴장은 목록 변화 없음)
+        ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+        verify(template, times(3))
+                .convertAndSend(eq("/topic/presence.room.5"), payloads.capture());
+        assertEquals(List.of(2L), ((PresenceEventRes) payloads.getAllValues().get(2)).getUserIds());
+    }
+
+    private List<TypingEventRes> typingEvents() {
+        ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+        verify(template, atLeast(0)).convertAndSend(eq(TYPING_TOPIC), payloads.capture());
+        return payloads.getAllValues().stream().map(p -> (TypingEventRes) p).toList();
+    }
+
+    private void join(PresenceRegistry registry, String sessionId, Long userId, Long roomId) {
+        registry.onConnected(new SessionConnectedEvent(this,
+                stomp(StompCommand.CONNECTED, sessionId, null, null, user(userId)), user(userId)));
+        registry.onSubscribe(new SessionSubscribeEvent(this,
+                stomp(StompCommand.SUBSCRIBE, sessionId, "sub-" + roomId, "/topic/chat.room." + roomId, user(userId)),
+                user(userId)));
+    }
+
+    private void disconnect(PresenceRegistry registry, String sessionId, Long userId) {
+        registry.onDisconnect(new SessionDisconnectEvent(this,
+                stomp(StompCommand.DISCONNECT, sessionId, null, null, user(userId)),
+                sessionId, CloseStatus.NORMAL, user(userId)));
+    }
+
+    private static Message<byte[]> stomp(StompCommand command, String sessionId, String subscriptionId,
+                                         String destination, Principal user) {
+        StompHeaderAccessor acc = StompHeaderAccessor.create(command);
+        acc.setSessionId(sessionId);
+        if (subscriptionId != null) acc.setSubscriptionId(subscriptionId);
+        if (destination != null) acc.setDestination(destination);
+        acc.setUser(user);
+        return MessageBuilder.createMessage(new byte[0], acc.getMessageHeaders());
+    }
+
+    private static Principal user(Long id) {
+        return () -> String.valueOf(id);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.chat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoomSubscriptionInterceptorTest {
+
+    private final ChatRoomRepository rooms = mock(ChatRoomRepository.class);
+    private final RoomSubscriptionInterceptor interceptor = new RoomSubscriptionInterceptor(rooms);
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    @Test
+    void participantMaySubscribeToRoomTopics() {
+        when(rooms.isParticipant(5L, 1L)).thenReturn(true);
+
+        for (String dest : new String[]{"/topic/chat.room.5", "/topic/typing.room.5",
+                "/topic/presence.room.5", "/app/presence.room.5"}) {
+            Message<byte[]> msg = subscribe(dest, "1");
+            assertSame(msg, interceptor.preSend(msg, channel));
+        }
+    }
+
+    @Test
+    void nonParticipantIsRejected() {
+        when(rooms.isParticipant(5L, 2L)).thenReturn(false);
+
+        assertThrows(AccessDeniedException.class,
+                () -> interceptor.preSend(subscribe("/topic/typing.room.5", "2"), channel));
+        assertThrows(AccessDeniedException.class,
+                () -> interceptor.preSend(subscribe("/app/presence.room.5", "2"), channel));
+    }
+
+    @Test
+    void otherDestinationsAreNotChecked() {
+        Message<byte[]> msg = subscribe("/user/queue/rooms", "1");
+
+        assertSame(msg, interceptor.preSend(msg, channel));
+        verify(rooms, never()).isParticipant(any(), any());
+    }
+
+    @Test
+    void patternSubscriptionsAreRejected() {
+        when(rooms.isParticipant(any(), any())).thenReturn(true);
+
+        for (String dest : new String[]{"/topic/chat.room.*", "/topic/**", "/topic/typing.room.?",
+                "/topic/linku.room.{id}", "/user/queue/*"}) {
+            assertThrows(AccessDeniedException.class,
+                    () -> interceptor.preSend(subscribe(dest, "1"), channel), dest);
+        }
+    }
+
+    @Test
+    void unlistedBrokerDestinationsAreRejected() {
+        // 다른 세션의 사용자 큐를 직접 구독하거나, 없는 방 주소 형식을 구독하는 경우
+        assertThrows(AccessDeniedException.class,
+                () -> interceptor.preSend(subscribe("/queue/rooms-userabc123", "1"), channel));
+        assertThrows(AccessDeniedException.class,
+                () -> interceptor.preSend(subscribe("/topic/chat.room.5.extra", "1"), channel));
+    }
+
+    @Test
+    void sendToBrokerDestinationsIsRejectedEvenForParticipants() {
+        when(rooms.isParticipant(5L, 1L)).thenReturn(true);
+
+        for (String dest : new String[]{"/topic/typing.room.5", "/topic/chat.room.5",
+                "/topic/presence.room.5", "/topic/linku.room.5", "/queue/rooms", "/user/2/queue/rooms"}) {
+            assertThrows(AccessDeniedException.class,
+                    () -> interceptor.preSend(frame(StompCommand.SEND, dest, "1"), channel), dest);
+        }
+    }
+
+    @Test
+    void sendToApplicationDestinationsPasses() {
+        Message<byte[]> msg = frame(StompCommand.SEND, "/app/chat.typing", "1");
+
+        assertSame(msg, interceptor.preSend(msg, channel));
+    }
+
+    private static Message<byte[]> subscribe(String destination, String principal) {
+        return frame(StompCommand.SUBSCRIBE, destination, principal);
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String destination, String principal) {
+        StompHeaderAccessor acc = StompHeaderAccessor.create(command);
+        acc.setSessionId("s1");
+        if (command == StompCommand.SUBSCRIBE) {
+            acc.setSubscriptionId("sub-1");
+        }
+        acc.setDestination(destination);
+        acc.setUser(() -> principal);
+        return MessageBuilder.createMessage(new byte[0], acc.getMessageHeaders());
+    }
+}
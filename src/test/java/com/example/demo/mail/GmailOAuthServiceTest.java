@@ -0,0 +1,96 @@
+package com.example.demo.mail;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 로컬 가짜 토큰 엔드포인트로 GmailOAuthService 갱신 동작 확인
+ */
+class GmailOAuthServiceTest {
+
+    private HttpServer server;
+    private final AtomicInteger tokenCalls = new AtomicInteger();
+    private volatile int status = 200;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/token", exchange -> {
+            int n = tokenCalls.incrementAndGet();
+            try {
+                Thread.sleep(200); // 느린 토큰 서버 흉내
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = ("{\"access_token\":\"token-" + n + "\",\"expires_in\":3600}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    private GmailOAuthService service(SimpleMeterRegistry registry) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/token";
+        return new GmailOAuthService("id", "secret", "refresh", url, 300, new RestTemplate(), registry);
+    }
+
+    @Test
+    void concurrentCallersShareOneRefresh() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GmailOAuthService oauth = service(registry);
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return oauth.getAccessToken();
+            }));
+        }
+        start.countDown();
+        for (Future<String> f : results) {
+            assertEquals("token-1", f.get(5, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+
+        assertEquals(1, tokenCalls.get());
+        assertEquals(1, registry.get("gmail.oauth.refresh").timer().count());
+
+        // 캐시된 토큰은 추가 호출 없이 반환
+        assertEquals("token-1", oauth.getAccessToken());
+        assertEquals(1, tokenCalls.get());
+    }
+
+    @Test
+    void failedRefreshIsCounted() {
+        status = 500;
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GmailOAuthService oauth = service(registry);
+
+        assertThrows(RuntimeException.class, oauth::getAccessToken);
+        assertEquals(1.0, registry.get("gmail.oauth.refresh.failures").counter().count());
+    }
+}
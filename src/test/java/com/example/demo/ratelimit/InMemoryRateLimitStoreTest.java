@@ -0,0 +1,66 @@
+package com.example.demo.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryRateLimitStoreTest {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    @Test
+    void concurrentHitsAreAllCounted() throws Exception {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8_000; i++) {
+            pool.execute(() -> store.hit("k", HOUR));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        // 같은 구간 안이면 추정 없이 정확한 횟수
+        long count = store.count("k", HOUR);
+        assertTrue(count >= 8_000, "count " + count);
+    }
+
+    @Test
+    void resetClearsCounter() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+        store.hit("k", HOUR);
+        store.hit("k", HOUR);
+        store.reset("k");
+
+        assertEquals(0, store.count("k", HOUR));
+        assertEquals(1, store.hit("k", HOUR));
+    }
+
+    @Test
+    void sweepKeepsActiveWindowsAndLocks() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+        store.hit("k", HOUR);
+        store.lock("lock", HOUR);
+
+        store.sweep();
+
+        assertEquals(1, store.count("k", HOUR));
+        assertTrue(store.lockRemaining("lock").compareTo(Duration.ofMinutes(59)) > 0);
+    }
+
+    @Test
+    void lockLastsForItsDurationAndThenExpires() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+        store.lock("a", Duration.ofMinutes(10));
+        store.lock("a", Duration.ofMinutes(1)); // 더 짧은 잠금으로 줄어들지 않음
+        store.lock("b", Duration.ofMillis(-1));
+
+        assertTrue(store.lockRemaining("a").compareTo(Duration.ofMinutes(9)) > 0);
+        assertEquals(Duration.ZERO, store.lockRemaining("b"));
+        assertEquals(Duration.ZERO, store.lockRemaining("none"));
+    }
+}
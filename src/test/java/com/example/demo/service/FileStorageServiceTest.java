@@ -0,0 +1,99 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileStorageServiceTest {
+
+    private static final long TEN_MB = 10L * 1024 * 1024;
+
+    @TempDir
+    Path tmpDir;
+
+    @Test
+    void spoolingTenMegabyteUploadKeepsHeapFlat() throws Exception {
+        com.sun.management.ThreadMXBean mx =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+
+        // 한 번 돌려서 클래스 로딩 등 일회성 할당을 제외
+        Files.delete(FileStorageService.spoolToTempFile(new StreamingFile(1024), tmpDir));
+
+        long before = mx.getThreadAllocatedBytes(tid);
+        Path spooled = FileStorageService.spoolToTempFile(new StreamingFile(TEN_MB), tmpDir);
+        long allocated = mx.getThreadAllocatedBytes(tid) - before;
+
+        assertEquals(TEN_MB, Files.size(spooled));
+        // 10MB 를 복사해도 힙 할당은 고정 버퍼 수준이어야 함
+        assertTrue(allocated < 1024 * 1024, "allocated " + allocated + " bytes for a 10MB upload");
+    }
+
+    @Test
+    void spoolingComputesSameDigestAsWrittenFile() throws Exception {
+        MessageDigest streamed = MessageDigest.getInstance("SHA-256");
+        Path spooled = FileStorageService.spoolToTempFile(new StreamingFile(300_000), tmpDir, streamed);
+
+        byte[] expected = MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(spooled));
+        assertArrayEquals(expected, streamed.digest());
+    }
+
+    /** getBytes() 없이 스트림으로만 내용을 주는 가짜 업로드 파일 */
+    private static class StreamingFile implements MultipartFile {
+        private final long size;
+
+        StreamingFile(long size) {
+            this.size = size;
+        }
+
+        @Override public String getName() { return "file"; }
+        @Override public String getOriginalFilename() { return "big.jpg"; }
+        @Override public String getContentType() { return "image/jpeg"; }
+        @Override public boolean isEmpty() { return size == 0; }
+        @Override public long getSize() { return size; }
+
+        @Override
+        public byte[] getBytes() {
+            throw new AssertionError("업로드 내용을 byte[] 로 읽으면 안 됨");
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new InputStream() {
+                private long remaining = size;
+
+                @Override
+                public int read() {
+                    if (remaining <= 0) return -1;
+                    remaining--;
+                    return 'x';
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    if (remaining <= 0) return -1;
+                    int n = (int) Math.min(len, remaining);
+                    for (int i = 0; i < n; i++) b[off + i] = 'x';
+                    remaining -= n;
+                    return n;
+                }
+            };
+        }
+
+        @Override
+        public void transferTo(File dest) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
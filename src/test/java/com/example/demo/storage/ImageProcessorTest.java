@@ -0,0 +1,201 @@
+package com.example.demo.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageProcessorTest {
+
+    private final ImageProcessor processor = new ImageProcessor();
+
+    @TempDir
+    Path tmpDir;
+
+    @Test
+    void resizesEachVariantWithinItsMaxSide() throws Exception {
+        Path src = writeJpeg(image(2000, 1000, Color.GRAY, Color.GRAY), null);
+
+        ImageProcessor.Processed out = processor.process(src, tmpDir);
+
+        assertNotNull(out);
+        assertEquals("jpg", out.extension());
+        assertSize(out, ImageVariant.ORIGINAL, 2000, 1000);
+        assertSize(out, ImageVariant.DETAIL, 1080, 540);
+        assertSize(out, ImageVariant.CARD, 480, 240);
+        assertSize(out, ImageVariant.AVATAR, 160, 160);
+    }
+
+    @Test
+    void reportsTheSha256OfEachWrittenVariant() throws Exception {
+        Path src = writeJpeg(image(600, 300, Color.RED, Color.BLUE), null);
+
+        ImageProcessor.Processed out = processor.process(src, tmpDir);
+
+        assertNotNull(out);
+        for (ImageVariant v : ImageVariant.values()) {
+            byte[] written = Files.readAllBytes(out.files().get(v));
+            String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(written));
+            assertEquals(expected, out.sha256().get(v));
+        }
+    }
+
+    @Test
+    void subsampledDecodeStillProducesBoundedOriginal() throws Exception {
+        // 긴 변 8200 → ceil(8200 / 2048) = 5 배 서브샘플링 → 1640 x 80 으로 읽힘
+        Path src = writeJpeg(image(8200, 400, Color.GRAY, Color.GRAY), null);
+
+        ImageProcessor.Processed out = processor.process(src, tmpDir);
+
+        assertNotNull(out);
+        assertSize(out, ImageVariant.ORIGINAL, 1640, 80);
+        assertSize(out, ImageVariant.AVATAR, 80, 80);
+    }
+
+    @Test
+    void rejectsImagesOverThePixelCapBeforeDecoding() throws Exception {
+        // 헤더만 100000 x 100000 인 작은 PNG (본문은 디코딩되기 전에 거절돼야 함)
+        Path bomb = Files.write(tmpDir.resolve("bomb.png"), pngHeader(100_000, 100_000));
+
+        assertThrows(IllegalArgumentException.class, () -> processor.process(bomb, tmpDir));
+    }
+
+    @Test
+    void appliesExifOrientationBeforeResizing() throws Exception {
+        // 왼쪽 빨강 / 오른쪽 파랑, Orientation=6 (시계 방향 90도 돌려서 봐야 하는 사진)
+        Path src = writeJpeg(image(300, 100, Color.RED, Color.BLUE), 6);
+        assertEquals(6, ImageProcessor.readOrientation(src));
+
+        ImageProcessor.Processed out = processor.process(src, tmpDir);
+
+        assertNotNull(out);
+        BufferedImage original = ImageIO.read(out.files().get(ImageVariant.ORIGINAL).toFile());
+        assertEquals(100, original.getWidth());
+        assertEquals(300, original.getHeight());
+        // 돌린 뒤에는 왼쪽이 위로 감
+        assertTrue(isReddish(original.getRGB(50, 20)));
+        assertTrue(isBluish(original.getRGB(50, 280)));
+    }
+
+    @Test
+    void orientationDefaultsToOneWithoutExif() throws Exception {
+        Path src = writeJpeg(image(10, 10, Color.GRAY, Color.GRAY), null);
+        assertEquals(1, ImageProcessor.readOrientation(src));
+    }
+
+    @Test
+    void undecodableFilesReturnNullAndAreClassifiedBySignature() throws Exception {
+        Path valid = writeJpeg(image(200, 200, Color.RED, Color.BLUE), null);
+        byte[] bytes = Files.readAllBytes(valid);
+        Path truncated = Files.write(tmpDir.resolve("truncated.jpg"), Arrays.copyOf(bytes, 120));
+        Path garbage = Files.write(tmpDir.resolve("garbage.bin"), new byte[]{1, 2, 3, 4, 5});
+
+        assertNull(processor.process(truncated, tmpDir));
+        assertNull(processor.process(garbage, tmpDir));
+
+        // 잘린 JPEG 은 원본 저장 대상, 알 수 없는 파일은 거절 대상
+        assertEquals("jpg", ImageProcessor.detectFormat(truncated));
+        assertNull(ImageProcessor.detectFormat(garbage));
+    }
+
+    @Test
+    void detectsFormatFromSignatureNotFileName() throws Exception {
+        Path webp = Files.write(tmpDir.resolve("a.html"),
+                new byte[]{'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P', 'V', 'P', '8', ' '});
+        Path html = Files.write(tmpDir.resolve("b.jpg"),
+                "<html><script>alert(1)</script></html>".getBytes(StandardCharsets.UTF_8));
+        Path svg = Files.write(tmpDir.resolve("c.png"),
+                "<svg xmlns=\"http://www.w3.org/2000/svg\"/>".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("webp", ImageProcessor.detectFormat(webp));
+        assertNull(ImageProcessor.detectFormat(html));
+        assertNull(ImageProcessor.detectFormat(svg));
+    }
+
+    private static byte[] pngHeader(int width, int height) {
+        ByteBuffer ihdr = ByteBuffer.allocate(17)
+                .put(new byte[]{'I', 'H', 'D', 'R'})
+                .putInt(width)
+                .putInt(height)
+                .put(new byte[]{8, 2, 0, 0, 0}); // 8bit RGB
+        CRC32 crc = new CRC32();
+        crc.update(ihdr.array());
+        return ByteBuffer.allocate(8 + 4 + 17 + 4)
+                .put(new byte[]{(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A})
+                .putInt(13)
+                .put(ihdr.array())
+                .putInt((int) crc.getValue())
+                .array();
+    }
+
+    private static void assertSize(ImageProcessor.Processed out, ImageVariant v, int width, int height)
+            throws Exception {
+        BufferedImage img = ImageIO.read(out.files().get(v).toFile());
+        assertEquals(width, img.getWidth(), v + " width");
+        assertEquals(height, img.getHeight(), v + " height");
+    }
+
+    private static BufferedImage image(int w, int h, Color left, Color right) {
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D g = img.createGraphics();
+        g.setColor(left);
+        g.fillRect(0, 0, w / 2, h);
+        g.setColor(right);
+        g.fillRect(w / 2, 0, w - w / 2, h);
+        g.dispose();
+        return img;
+    }
+
+    /** JPEG 으로 저장하고, orientation 이 있으면 SOI 바로 뒤에 EXIF(APP1) 세그먼트를 끼워 넣음 */
+    private Path writeJpeg(BufferedImage img, Integer orientation) throws Exception {
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(img, "jpg", jpeg);
+        byte[] bytes = jpeg.toByteArray();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(bytes, 0, 2); // SOI
+        if (orientation != null) {
+            byte[] exif = {
+                    'E', 'x', 'i', 'f', 0, 0,
+                    'M', 'M', 0, 42, 0, 0, 0, 8,            // TIFF 헤더 (big endian), IFD0 위치 8
+                    0, 1,                                   // 항목 1개
+                    0x01, 0x12, 0, 3, 0, 0, 0, 1,           // Orientation, SHORT, 1개
+                    0, orientation.byteValue(), 0, 0,
+                    0, 0, 0, 0                              // 다음 IFD 없음
+            };
+            int length = exif.length + 2;
+            out.write(new byte[]{(byte) 0xFF, (byte) 0xE1, (byte) (length >> 8), (byte) length});
+            out.write(exif);
+        }
+        out.write(bytes, 2, bytes.length - 2);
+        return Files.write(Files.createTempFile(tmpDir, "src-", ".jpg"), out.toByteArray());
+    }
+
+    private static boolean isReddish(int rgb) {
+        Color c = new Color(rgb);
+        return c.getRed() > 200 && c.getBlue() < 60;
+    }
+
+    private static boolean isBluish(int rgb) {
+        Color c = new Color(rgb);
+        return c.getBlue() > 200 && c.getRed() < 60;
+    }
+}